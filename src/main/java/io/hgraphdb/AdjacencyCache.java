@@ -0,0 +1,92 @@
+package io.hgraphdb;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Tuple;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of the adjacent edges of vertices, shared by all vertices of a graph.  Edges are
+ * cached per vertex id and per query, such as a direction and labels, and the cache is
+ * bounded by the total number of cached edges.  Lists longer than the per-entry cap are
+ * not cached, so that the edges of supernodes are not kept on the heap.
+ */
+public class AdjacencyCache {
+
+    private final Cache<Object, Map<Tuple, List<Edge>>> cache;
+    private final long maxEdges;
+    private final int maxEntryEdges;
+
+    public AdjacencyCache(long maxEdges, int maxEntryEdges, long ttlSecs) {
+        this.maxEdges = maxEdges;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxEdges)
+                .weigher((Weigher<Object, Map<Tuple, List<Edge>>>) (vertexKey, lists) -> weigh(lists))
+                .expireAfterAccess(ttlSecs, TimeUnit.SECONDS)
+                .build();
+        this.maxEntryEdges = maxEntryEdges;
+    }
+
+    private static int weigh(Map<Tuple, List<Edge>> lists) {
+        // an empty list still takes an entry
+        int weight = 0;
+        for (List<Edge> edges : lists.values()) {
+            weight += edges.size() + 1;
+        }
+        return weight;
+    }
+
+    /**
+     * The most edges that are cached for a single query of a vertex.
+     */
+    public int getMaxEntryEdges() {
+        return maxEntryEdges;
+    }
+
+    /**
+     * The cached edges of the given vertex for the given query, without removed edges,
+     * or null if they are not cached.
+     */
+    public Iterator<Edge> get(Object vertexId, Tuple cacheKey) {
+        Map<Tuple, List<Edge>> lists = cache.getIfPresent(vertexKey(vertexId));
+        List<Edge> edges = lists != null ? lists.get(cacheKey) : null;
+        return edges != null ? IteratorUtils.filter(edges.iterator(), edge -> !((HBaseEdge) edge).isDeleted()) : null;
+    }
+
+    /**
+     * Cache the edges of the given vertex for the given query, unless there are more than
+     * the per-entry cap.
+     */
+    public void put(Object vertexId, Tuple cacheKey, List<Edge> edges) {
+        if (maxEdges == 0 || edges.size() > maxEntryEdges) return;
+        // the lists of a vertex are replaced rather than updated, so that they are weighed again
+        cache.asMap().compute(vertexKey(vertexId), (vertexKey, lists) -> {
+            Map<Tuple, List<Edge>> newLists = lists != null ? new HashMap<>(lists) : new HashMap<>();
+            newLists.put(cacheKey, edges);
+            return newLists;
+        });
+    }
+
+    /**
+     * Remove the cached edges of the given vertex for all queries.
+     */
+    public void invalidate(Object vertexId) {
+        cache.invalidate(vertexKey(vertexId));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static Object vertexKey(Object vertexId) {
+        return ElementCache.key(vertexId);
+    }
+}
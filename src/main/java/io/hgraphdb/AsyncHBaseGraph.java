@@ -0,0 +1,163 @@
+package io.hgraphdb;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A view of a graph whose lookups, adjacency and index queries, and mutations return
+ * futures instead of blocking the calling thread.  This is only a thread-pool offload:
+ * the HBase 1.x client has no asynchronous table API, so each operation runs the blocking
+ * operation of the graph on a fixed pool of its own, and the results of queries are
+ * collected into lists there.  At most {@link HBaseGraphConfiguration#getAsyncThreads()}
+ * operations, and so RPCs, are in flight at once.  Up to
+ * {@link HBaseGraphConfiguration#getAsyncQueueSize()} further operations queue for a thread,
+ * and the futures of operations beyond that fail at once with a
+ * {@link RejectedExecutionException}, so that callers that outpace the pool are pushed back
+ * rather than queueing without bound.  Truly non-blocking RPCs await a port to the
+ * {@code AsyncConnection} of HBase 2.
+ *
+ * <p>Closing this view shuts down its pool, but not the graph.  The futures of operations
+ * submitted after that fail in the same way.
+ */
+public class AsyncHBaseGraph implements AutoCloseable {
+
+    private final HBaseGraph graph;
+    private final ExecutorService executor;
+
+    public AsyncHBaseGraph(HBaseGraph graph) {
+        this.graph = graph;
+        int threads = graph.configuration().getAsyncThreads();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(graph.configuration().getAsyncQueueSize()),
+                new ThreadFactoryBuilder().setNameFormat("hgraphdb-async-%d").setDaemon(true).build());
+    }
+
+    public HBaseGraph getGraph() {
+        return graph;
+    }
+
+    public CompletableFuture<Vertex> vertex(Object id) {
+        return supply(() -> graph.vertex(id));
+    }
+
+    public CompletableFuture<List<Vertex>> vertices(Object... ids) {
+        return list(() -> graph.vertices(ids));
+    }
+
+    public CompletableFuture<Edge> edge(Object id) {
+        return supply(() -> graph.edge(id));
+    }
+
+    public CompletableFuture<List<Edge>> edges(Object... ids) {
+        return list(() -> graph.edges(ids));
+    }
+
+    public CompletableFuture<List<Edge>> edges(Vertex vertex, Direction direction, String... labels) {
+        return list(() -> vertex.edges(direction, labels));
+    }
+
+    public CompletableFuture<List<Edge>> edges(Vertex vertex, Direction direction, String label,
+                                               String key, Object value) {
+        return list(() -> ((HBaseVertex) vertex).edges(direction, label, key, value));
+    }
+
+    public CompletableFuture<List<Edge>> edgesInRange(Vertex vertex, Direction direction, String label, String key,
+                                                      Object inclusiveFromValue, Object exclusiveToValue) {
+        return list(() -> ((HBaseVertex) vertex).edgesInRange(direction, label, key,
+                inclusiveFromValue, exclusiveToValue));
+    }
+
+    public CompletableFuture<List<Vertex>> vertices(Vertex vertex, Direction direction, String... labels) {
+        return list(() -> vertex.vertices(direction, labels));
+    }
+
+    public CompletableFuture<List<Vertex>> verticesByLabel(String label) {
+        return list(() -> graph.verticesByLabel(label));
+    }
+
+    public CompletableFuture<List<Vertex>> verticesByLabel(String label, String key, Object value) {
+        return list(() -> graph.verticesByLabel(label, key, value));
+    }
+
+    public CompletableFuture<List<Vertex>> verticesInRange(String label, String key,
+                                                           Object inclusiveFromValue, Object exclusiveToValue) {
+        return list(() -> graph.verticesInRange(label, key, inclusiveFromValue, exclusiveToValue));
+    }
+
+    public CompletableFuture<List<Edge>> edgesByLabel(String label) {
+        return list(() -> graph.edgesByLabel(label));
+    }
+
+    public CompletableFuture<Vertex> addVertex(Object... keyValues) {
+        return supply(() -> graph.addVertex(keyValues));
+    }
+
+    public CompletableFuture<Edge> addEdge(Vertex outVertex, String label, Vertex inVertex, Object... keyValues) {
+        return supply(() -> outVertex.addEdge(label, inVertex, keyValues));
+    }
+
+    public CompletableFuture<Void> setProperty(Element element, String key, Object value) {
+        return run(() -> ((HBaseElement) element).setProperty(key, value));
+    }
+
+    public <V> CompletableFuture<V> removeProperty(Element element, String key) {
+        return supply(() -> ((HBaseElement) element).removeProperty(key));
+    }
+
+    public CompletableFuture<Void> remove(Element element) {
+        return run(element::remove);
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, executor);
+        } catch (RejectedExecutionException e) {
+            return failed(e);
+        }
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        try {
+            return CompletableFuture.runAsync(operation, executor);
+        } catch (RejectedExecutionException e) {
+            return failed(e);
+        }
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable t) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+
+    private <T> CompletableFuture<List<T>> list(Supplier<Iterator<T>> query) {
+        return supply(() -> {
+            Iterator<T> iterator = query.get();
+            try {
+                return IteratorUtils.list(iterator);
+            } finally {
+                CloseableIterator.closeIterator(iterator);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
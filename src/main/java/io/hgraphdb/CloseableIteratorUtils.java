@@ -158,6 +158,31 @@ public final class CloseableIteratorUtils {
         };
     }
 
+    public static <S> Iterator<List<S>> batch(final Iterator<S> iterator, final int batchSize) {
+        return new CloseableIterator<List<S>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<S> next() {
+                if (!iterator.hasNext())
+                    throw FastNoSuchElementException.instance();
+                List<S> batch = new ArrayList<>();
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+
+            @Override
+            public void close() {
+                CloseableIterator.closeIterator(iterator);
+            }
+        };
+    }
+
     public static <S> Iterator<S> concat(final Iterator<S>... iterators) {
         final MultiIterator<S> iterator = new MultiIterator<>();
         for (final Iterator<S> itty : iterators) {
@@ -15,6 +15,7 @@ public class Constants {
     public static final String INDEX_METADATA = "indexMetadata";
     public static final String LABEL_METADATA = "labelMetadata";
     public static final String LABEL_CONNECTIONS = "labelConnections";
+    public static final String LABEL_INDICES = "labelIndices";
 
     /**
      * Default column family
@@ -35,6 +36,7 @@ public class Constants {
     public static final String EDGE_ID = Graph.Hidden.hide("e");
     public static final String VERTEX_ID = Graph.Hidden.hide("v");
     public static final String INDEX_STATE = Graph.Hidden.hide("x");
+    public static final String VALUE_BUCKETS = Graph.Hidden.hide("b");
 
     public static final byte[] LABEL_BYTES = Bytes.toBytes(LABEL);
     public static final byte[] FROM_BYTES = Bytes.toBytes(FROM);
@@ -46,6 +48,7 @@ public class Constants {
     public static final byte[] EDGE_ID_BYTES = Bytes.toBytes(EDGE_ID);
     public static final byte[] VERTEX_ID_BYTES = Bytes.toBytes(VERTEX_ID);
     public static final byte[] INDEX_STATE_BYTES = Bytes.toBytes(INDEX_STATE);
+    public static final byte[] VALUE_BUCKETS_BYTES = Bytes.toBytes(VALUE_BUCKETS);
 
     /**
      * Map-Reduce
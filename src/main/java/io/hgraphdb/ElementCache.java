@@ -0,0 +1,254 @@
+package io.hgraphdb;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import io.hgraphdb.util.FrequencySketch;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the vertices or edges of a graph, keyed by element id.  The cache
+ * is bounded either by the number of elements or, when a byte budget is given, by the
+ * approximate retained size of the elements.  Elements are cached before they are loaded,
+ * so they are weighed again whenever they are loaded, and whenever their properties are
+ * set or removed.  Weights are estimated from the types and lengths of the values, not
+ * measured.
+ *
+ * <p>Once the cache is full, a new element is only admitted if its id has been looked up
+ * often enough lately, as estimated by a TinyLFU frequency sketch.  Elements that are seen
+ * once, such as those of a large scan, then do not evict the working set.
+ *
+ * <p>Elements are not loaded through the cache, so loads are recorded by the models and
+ * merged into the statistics of the cache.
+ */
+public class ElementCache<E extends HBaseElement> {
+
+    // rough sizes of the objects that an element holds on to
+    private static final int ELEMENT_OVERHEAD = 96;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int PROPERTY_OVERHEAD = 48;
+    private static final int ARRAY_OVERHEAD = 16;
+    private static final int BOXED_SIZE = 24;
+    private static final int OBJECT_SIZE = 64;
+
+    private final Cache<Object, E> cache;
+    private final long maxSize;
+    private final boolean weighed;
+    private final int admissionFrequency;
+    // created once the cache is full, when admission starts
+    private volatile FrequencySketch sketch;
+    private final AtomicLong loadSuccessCount = new AtomicLong();
+    private final AtomicLong loadExceptionCount = new AtomicLong();
+    private final AtomicLong totalLoadTime = new AtomicLong();
+    private final AtomicLong coalescedLoadCount = new AtomicLong();
+
+    public ElementCache(long maxSize, long maxBytes, long ttlSecs, int admissionFrequency) {
+        this.maxSize = maxSize;
+        this.admissionFrequency = admissionFrequency;
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .expireAfterAccess(ttlSecs, TimeUnit.SECONDS)
+                .recordStats();
+        // a max size of 0 still disables caching
+        this.weighed = maxBytes > 0 && maxSize > 0;
+        if (weighed) {
+            builder.maximumWeight(maxBytes)
+                    .weigher((Weigher<Object, E>) (key, element) -> weigh(key, element));
+        } else {
+            builder.maximumSize(maxSize);
+        }
+        this.cache = builder
+                .removalListener((RemovalListener<Object, E>) this::onRemoval)
+                .build();
+    }
+
+    private void onRemoval(RemovalNotification<Object, E> notif) {
+        if (notif.getCause() == RemovalCause.SIZE && sketch == null && maxSize > 0) {
+            synchronized (this) {
+                if (sketch == null) sketch = new FrequencySketch(maxSize);
+            }
+        }
+        E element = notif.getValue();
+        // an element that is weighed again replaces itself
+        if (notif.getCause() != RemovalCause.REPLACED || cache.asMap().get(notif.getKey()) != element) {
+            element.setCached(false);
+        }
+    }
+
+    /**
+     * The approximate number of bytes retained by the given element.
+     */
+    static int weigh(Object key, HBaseElement element) {
+        long size = ELEMENT_OVERHEAD + keySize(key);
+        if (element.label != null) {
+            size += STRING_OVERHEAD + 2L * element.label.length();
+        }
+        Map<String, Object> properties = element.properties;
+        if (properties != null) {
+            for (Map.Entry<String, Object> property : properties.entrySet()) {
+                size += PROPERTY_OVERHEAD + STRING_OVERHEAD + 2L * property.getKey().length()
+                        + valueSize(property.getValue());
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The approximate number of bytes retained by the given property value, from its type
+     * and length alone.  Values of other types are counted as small objects.
+     */
+    private static long valueSize(Object value) {
+        if (value instanceof String) {
+            return STRING_OVERHEAD + 2L * ((String) value).length();
+        } else if (value instanceof byte[]) {
+            return ARRAY_OVERHEAD + ((byte[]) value).length;
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return BOXED_SIZE;
+        } else if (value instanceof Collection) {
+            long size = OBJECT_SIZE;
+            for (Object element : (Collection<?>) value) {
+                size += valueSize(element);
+            }
+            return size;
+        } else if (value instanceof Map) {
+            long size = OBJECT_SIZE;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += PROPERTY_OVERHEAD + valueSize(entry.getKey()) + valueSize(entry.getValue());
+            }
+            return size;
+        }
+        return OBJECT_SIZE;
+    }
+
+    private static int keySize(Object key) {
+        if (key instanceof ByteBuffer) {
+            return ((ByteBuffer) key).remaining();
+        } else if (key instanceof String) {
+            return STRING_OVERHEAD + 2 * ((String) key).length();
+        } else {
+            return Long.BYTES;
+        }
+    }
+
+    /**
+     * The cache key of the given element id.  Longs, integers and strings are their own keys,
+     * since they are equal exactly when their serialized forms are, so looking them up does
+     * not serialize them.  Other ids are keyed by their serialized form.
+     */
+    public static Object key(Object id) {
+        if (id instanceof Long || id instanceof Integer || id instanceof String) {
+            return id;
+        }
+        return ByteBuffer.wrap(ValueUtils.serialize(id));
+    }
+
+    /**
+     * The cached element with the given key, or null.  The lookup counts towards the
+     * admission of the element.
+     */
+    public E getIfPresent(Object key) {
+        FrequencySketch sketch = this.sketch;
+        if (sketch != null) sketch.increment(spread(key.hashCode()));
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * The cached element with the given key, or null, without recording the lookup.
+     */
+    public E getQuietly(Object key) {
+        return cache.asMap().get(key);
+    }
+
+    /**
+     * Cache the given element, if it is admitted.
+     *
+     * @return Whether the element was cached
+     */
+    public boolean put(Object key, E element) {
+        FrequencySketch sketch = this.sketch;
+        if (sketch != null && sketch.frequency(spread(key.hashCode())) < admissionFrequency) {
+            return false;
+        }
+        cache.put(key, element);
+        element.setCached(true);
+        return true;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+
+    /**
+     * Weigh the given element again after it has been loaded or changed, if it is
+     * still cached and the cache is bounded by weight.
+     */
+    public void reweigh(E element) {
+        if (!weighed || !element.isCached()) return;
+        cache.asMap().replace(key(element.id()), element, element);
+    }
+
+    /**
+     * Record the load of elements from the backing table.
+     *
+     * @param count     The number of elements loaded
+     * @param loadNanos The time taken by the load
+     * @param success   Whether the load succeeded
+     */
+    public void recordLoad(int count, long loadNanos, boolean success) {
+        if (success) {
+            loadSuccessCount.addAndGet(count);
+        } else {
+            loadExceptionCount.addAndGet(count);
+        }
+        totalLoadTime.addAndGet(loadNanos);
+    }
+
+    /**
+     * Record a load that waited for a concurrent load of the same element
+     * instead of reading the backing table itself.
+     */
+    public void recordCoalescedLoad() {
+        coalescedLoadCount.incrementAndGet();
+    }
+
+    /**
+     * The number of loads that shared the Get of a concurrent load of the same element.
+     * These are not counted as loads in the statistics.
+     */
+    public long coalescedLoadCount() {
+        return coalescedLoadCount.get();
+    }
+
+    /**
+     * The hit, miss and eviction counts of the cache, together with the count and
+     * time of the loads of elements from the backing table.
+     */
+    public CacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStats(stats.hitCount(), stats.missCount(),
+                loadSuccessCount.get(), loadExceptionCount.get(), totalLoadTime.get(), stats.evictionCount());
+    }
+
+    /**
+     * The number of cached elements.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        sketch = null;
+    }
+}
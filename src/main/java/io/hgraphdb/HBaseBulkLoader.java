@@ -7,6 +7,7 @@ import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Durability;
 import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
@@ -33,6 +34,7 @@ public final class HBaseBulkLoader implements AutoCloseable {
     private final BufferedMutator edgeIndicesMutator;
     private final BufferedMutator verticesMutator;
     private final BufferedMutator vertexIndicesMutator;
+    private final BufferedMutator labelIndicesMutator;
     private final boolean skipWAL;
 
     public HBaseBulkLoader(HBaseGraphConfiguration config) {
@@ -44,7 +46,8 @@ public final class HBaseBulkLoader implements AutoCloseable {
                 getBufferedMutator(graph, Constants.EDGES),
                 getBufferedMutator(graph, Constants.EDGE_INDICES),
                 getBufferedMutator(graph, Constants.VERTICES),
-                getBufferedMutator(graph, Constants.VERTEX_INDICES));
+                getBufferedMutator(graph, Constants.VERTEX_INDICES),
+                graph.getLabelIndexModel() != null ? getBufferedMutator(graph, Constants.LABEL_INDICES) : null);
     }
 
     private static BufferedMutator getBufferedMutator(HBaseGraph graph, String tableName) {
@@ -63,11 +66,21 @@ public final class HBaseBulkLoader implements AutoCloseable {
                            BufferedMutator edgeIndicesMutator,
                            BufferedMutator verticesMutator,
                            BufferedMutator vertexIndicesMutator) {
+        this(graph, edgesMutator, edgeIndicesMutator, verticesMutator, vertexIndicesMutator, null);
+    }
+
+    public HBaseBulkLoader(HBaseGraph graph,
+                           BufferedMutator edgesMutator,
+                           BufferedMutator edgeIndicesMutator,
+                           BufferedMutator verticesMutator,
+                           BufferedMutator vertexIndicesMutator,
+                           BufferedMutator labelIndicesMutator) {
         this.graph = graph;
         this.edgesMutator = edgesMutator;
         this.edgeIndicesMutator = edgeIndicesMutator;
         this.verticesMutator = verticesMutator;
         this.vertexIndicesMutator = vertexIndicesMutator;
+        this.labelIndicesMutator = labelIndicesMutator;
         this.skipWAL = graph.configuration().getBulkLoaderSkipWAL();
     }
 
@@ -92,6 +105,9 @@ public final class HBaseBulkLoader implements AutoCloseable {
 
             Creator creator = new VertexWriter(graph, vertex);
             if (verticesMutator != null) verticesMutator.mutate(getMutationList(creator.constructInsertions()));
+            indexLabel(vertex);
+            NegativeVertexCache negativeVertexCache = graph.getNegativeVertexCache();
+            if (negativeVertexCache != null) negativeVertexCache.recordAdded(idValue);
 
             return vertex;
         } catch (IOException e) {
@@ -108,6 +124,19 @@ public final class HBaseBulkLoader implements AutoCloseable {
         }
     }
 
+    /**
+     * Add the element to the label index, if enabled.  This may also be used to
+     * populate the label index of a graph written before it was enabled.
+     */
+    public void indexLabel(Element element) {
+        try {
+            LabelIndexWriter writer = new LabelIndexWriter(graph, element);
+            if (labelIndicesMutator != null) labelIndicesMutator.mutate(getMutationList(writer.constructMutations()));
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
     public Edge addEdge(Vertex outVertex, Vertex inVertex, String label, Object... keyValues) {
         try {
             if (null == inVertex) throw Graph.Exceptions.argumentCanNotBeNull("inVertex");
@@ -129,6 +158,7 @@ public final class HBaseBulkLoader implements AutoCloseable {
 
             Creator creator = new EdgeWriter(graph, edge);
             if (edgesMutator != null) edgesMutator.mutate(getMutationList(creator.constructInsertions()));
+            indexLabel(edge);
 
             return edge;
         } catch (IOException e) {
@@ -226,6 +256,7 @@ public final class HBaseBulkLoader implements AutoCloseable {
             if (edgeIndicesMutator != null) edgeIndicesMutator.close();
             if (verticesMutator != null) verticesMutator.close();
             if (vertexIndicesMutator != null) vertexIndicesMutator.close();
+            if (labelIndicesMutator != null) labelIndicesMutator.close();
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 public class HBaseEdge extends HBaseElement implements Edge {
 
@@ -65,6 +66,16 @@ public class HBaseEdge extends HBaseElement implements Edge {
         }
     }
 
+    @Override
+    public boolean isFullyLoaded() {
+        return super.isFullyLoaded() && inVertex != null && outVertex != null;
+    }
+
+    @Override
+    public boolean isLoaded(Set<String> propertyKeys) {
+        return super.isLoaded(propertyKeys) && inVertex != null && outVertex != null;
+    }
+
     @Override
     public Vertex outVertex() {
         return getVertex(Direction.OUT);
@@ -95,7 +106,7 @@ public class HBaseEdge extends HBaseElement implements Edge {
             throw new IllegalArgumentException("Invalid direction: " + direction);
         }
 
-        if (inVertex == null || outVertex == null) load();
+        if (inVertex == null || outVertex == null) loadLabel();
 
         return Direction.IN.equals(direction) ? inVertex : outVertex;
     }
@@ -105,6 +116,8 @@ public class HBaseEdge extends HBaseElement implements Edge {
         // Get rid of the endpoints and edge themselves.
         deleteFromModel();
         deleteEdgeEndpoints();
+        graph.getAdjacencyCache().invalidate(outVertex().id());
+        graph.getAdjacencyCache().invalidate(inVertex().id());
 
         setDeleted(true);
         if (!isCached()) {
@@ -115,7 +128,7 @@ public class HBaseEdge extends HBaseElement implements Edge {
 
     @Override
     public <V> Iterator<Property<V>> properties(final String... propertyKeys) {
-        Iterable<String> keys = getPropertyKeys();
+        Iterable<String> keys = getPropertyKeys(propertyKeys);
         Iterator<String> filter = IteratorUtils.filter(keys.iterator(),
                 key -> ElementHelper.keyExists(key, propertyKeys));
         return IteratorUtils.map(filter,
@@ -11,6 +11,8 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -28,6 +30,7 @@ public abstract class HBaseElement implements Element {
     protected Long updatedAt;
     protected Map<String, Object> properties;
     protected transient boolean propertiesFullyLoaded;
+    protected transient Set<String> loadedPropertyKeys;
     protected transient IndexMetadata.Key indexKey;
     protected transient long indexTs;
     protected transient boolean isCached;
@@ -103,6 +106,38 @@ public abstract class HBaseElement implements Element {
         this.isDeleted = isDeleted;
     }
 
+    /**
+     * Whether this element holds its label and full set of properties, so that
+     * it can be returned without another round trip to the backing table.
+     */
+    public boolean isFullyLoaded() {
+        return label != null && properties != null && propertiesFullyLoaded;
+    }
+
+    /**
+     * Whether this element holds its label and at least the given properties.
+     *
+     * @param propertyKeys The property keys, or null for all properties
+     */
+    public boolean isLoaded(Set<String> propertyKeys) {
+        if (isFullyLoaded() || propertyKeys == null) return isFullyLoaded();
+        return label != null && properties != null
+                && loadedPropertyKeys != null && loadedPropertyKeys.containsAll(propertyKeys);
+    }
+
+    /**
+     * Mark the properties of this element as loaded for the given keys only, whether
+     * or not the element has them.  A null value marks the properties as fully loaded.
+     */
+    public void setLoadedPropertyKeys(Set<String> propertyKeys) {
+        this.loadedPropertyKeys = propertyKeys;
+        this.propertiesFullyLoaded = propertyKeys == null;
+    }
+
+    private boolean isKnownMissing(String key) {
+        return !propertiesFullyLoaded && loadedPropertyKeys != null && loadedPropertyKeys.contains(key);
+    }
+
     public Map<String, Object> getProperties() {
         if (properties == null || !propertiesFullyLoaded) {
             load();
@@ -119,6 +154,25 @@ public abstract class HBaseElement implements Element {
                 && (element.propertiesFullyLoaded || this.properties == null)) {
             this.properties = new ConcurrentHashMap<>(element.properties);
             this.propertiesFullyLoaded = element.propertiesFullyLoaded;
+            this.loadedPropertyKeys = element.loadedPropertyKeys;
+        } else if (element.properties != null && element.loadedPropertyKeys != null) {
+            // refresh the projected properties
+            for (String key : element.loadedPropertyKeys) {
+                Object value = element.properties.get(key);
+                if (value != null) {
+                    this.properties.put(key, value);
+                } else {
+                    this.properties.remove(key);
+                }
+            }
+            if (!this.propertiesFullyLoaded) {
+                Set<String> keys = new HashSet<>(element.loadedPropertyKeys);
+                if (this.loadedPropertyKeys != null) keys.addAll(this.loadedPropertyKeys);
+                this.loadedPropertyKeys = keys;
+            }
+        }
+        if (isCached && graph != null) {
+            graph.reweigh(this);
         }
     }
 
@@ -126,14 +180,40 @@ public abstract class HBaseElement implements Element {
         getModel().load(this);
     }
 
+    /**
+     * Load the label and timestamps of this element, which also loads the properties
+     * unless column loading is enabled.
+     */
+    protected void loadLabel() {
+        if (graph.isColumnLoading()) {
+            getModel().load(this, Collections.emptySet());
+        } else {
+            load();
+        }
+    }
+
+    /**
+     * Get the properties of this element, ensuring that the given property is loaded.
+     * With column loading, only that property is read if it is not already held.
+     */
+    protected Map<String, Object> getProperties(String key) {
+        if ((properties == null || !propertiesFullyLoaded) && graph.isColumnLoading()) {
+            if (properties == null || !(properties.containsKey(key) || isKnownMissing(key))) {
+                getModel().load(this, Collections.singleton(key));
+            }
+            return properties;
+        }
+        return getProperties();
+    }
+
     @SuppressWarnings("unchecked")
     public <V> V getProperty(String key) {
         if (properties != null) {
             // optimization for partially loaded properties
             V val = (V) properties.get(key);
-            if (val != null) return val;
+            if (val != null || isKnownMissing(key)) return val;
         }
-        return (V) getProperties().get(key);
+        return (V) getProperties(key).get(key);
     }
 
     public boolean hasProperty(String key) {
@@ -141,8 +221,9 @@ public abstract class HBaseElement implements Element {
             // optimization for partially loaded properties
             Object val = properties.get(key);
             if (val != null) return true;
+            if (isKnownMissing(key)) return false;
         }
-        return keys().contains(key);
+        return getProperties(key).containsKey(key);
     }
 
     @Override
@@ -154,6 +235,22 @@ public abstract class HBaseElement implements Element {
         return new HashSet<>(getProperties().keySet());
     }
 
+    /**
+     * Get the keys of the given properties that this element has, without loading
+     * the remaining properties if only these were projected.
+     */
+    protected Set<String> getPropertyKeys(String... propertyKeys) {
+        if (properties != null && !propertiesFullyLoaded && loadedPropertyKeys != null && propertyKeys.length > 0
+                && loadedPropertyKeys.containsAll(Arrays.asList(propertyKeys))) {
+            Set<String> keys = new HashSet<>();
+            for (String key : propertyKeys) {
+                if (properties.containsKey(key)) keys.add(key);
+            }
+            return keys;
+        }
+        return getPropertyKeys();
+    }
+
     public void setProperty(String key, Object value) {
         ElementHelper.validateProperty(key, value);
 
@@ -170,8 +267,9 @@ public abstract class HBaseElement implements Element {
             }
         }
 
-        getProperties().put(key, value);
+        getProperties(key).put(key, value);
         updatedAt(System.currentTimeMillis());
+        if (isCached) graph.reweigh(this);
 
         if (hasIndex) {
             if (oldValue == null || !oldValue.equals(value)) {
@@ -179,7 +277,8 @@ public abstract class HBaseElement implements Element {
             }
         }
         Mutator writer = getModel().writeProperty(this, key, value);
-        Mutators.write(getTable(), writer);
+        Mutators.write(getTable(), getModel().getGroupCommit(), writer);
+        getModel().invalidateRow(this);
     }
 
     public void incrementProperty(String key, long value) {
@@ -194,7 +293,8 @@ public abstract class HBaseElement implements Element {
 
         Mutator writer = getModel().incrementProperty(this, key, value);
         long newValue = Mutators.increment(getTable(), writer, key);
-        getProperties().put(key, newValue);
+        getModel().invalidateRow(this);
+        getProperties(key).put(key, newValue);
     }
 
     public <V> V removeProperty(String key) {
@@ -206,28 +306,30 @@ public abstract class HBaseElement implements Element {
                 deleteFromIndexModel(key, null);
             }
 
-            getProperties().remove(key);
+            getProperties(key).remove(key);
             updatedAt(System.currentTimeMillis());
+            if (isCached) graph.reweigh(this);
 
             Mutator writer = getModel().clearProperty(this, key);
-            Mutators.write(getTable(), writer);
+            Mutators.write(getTable(), getModel().getGroupCommit(), writer);
+            getModel().invalidateRow(this);
         }
         return value;
     }
 
     @Override
     public String label() {
-        if (label == null) load();
+        if (label == null) loadLabel();
         return label;
     }
 
     public Long createdAt() {
-        if (createdAt == null) load();
+        if (createdAt == null) loadLabel();
         return createdAt;
     }
 
     public Long updatedAt() {
-        if (updatedAt == null) load();
+        if (updatedAt == null) loadLabel();
         return updatedAt;
     }
 
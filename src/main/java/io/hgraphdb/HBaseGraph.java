@@ -1,19 +1,23 @@
 package io.hgraphdb;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.hgraphdb.HBaseGraphConfiguration.InstanceType;
 import io.hgraphdb.IndexMetadata.State;
 import io.hgraphdb.models.*;
+import io.hgraphdb.process.strategy.optimization.HBaseCountStrategy;
 import io.hgraphdb.process.strategy.optimization.HBaseGraphStepStrategy;
+import io.hgraphdb.process.strategy.optimization.HBaseProjectionStrategy;
 import io.hgraphdb.process.strategy.optimization.HBaseVertexStepStrategy;
+import io.hgraphdb.util.ScanSizer;
 import org.apache.commons.configuration.Configuration;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -24,11 +28,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -69,7 +76,9 @@ public class HBaseGraph implements Graph {
         TraversalStrategies.GlobalCache.registerStrategies(HBaseGraph.class,
                 TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
                         HBaseVertexStepStrategy.instance(),
-                        HBaseGraphStepStrategy.instance()
+                        HBaseGraphStepStrategy.instance(),
+                        HBaseCountStrategy.instance(),
+                        HBaseProjectionStrategy.instance()
                 ));
     }
 
@@ -83,12 +92,18 @@ public class HBaseGraph implements Graph {
     private final IndexMetadataModel indexMetadataModel;
     private final LabelMetadataModel labelMetadataModel;
     private final LabelConnectionModel labelConnectionModel;
-    private Cache<ByteBuffer, Edge> edgeCache;
-    private Cache<ByteBuffer, Vertex> vertexCache;
+    private final LabelIndexModel labelIndexModel;
+    private final int saltBuckets;
+    private final AdjacencyCache adjacencyCache;
+    private final NegativeVertexCache negativeVertexCache;
+    private final ScanSizer scanSizer;
+    private ElementCache<HBaseEdge> edgeCache;
+    private ElementCache<HBaseVertex> vertexCache;
     private Map<IndexMetadata.Key, IndexMetadata> indices = new ConcurrentHashMap<>();
     private Map<LabelMetadata.Key, LabelMetadata> labels = new ConcurrentHashMap<>();
     private Set<LabelConnection> labelConnections = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private volatile ExecutorService scanExecutor;
 
     public static HBaseGraph open(final Configuration properties) throws HBaseGraphException {
         return new HBaseGraph(properties);
@@ -136,11 +151,17 @@ public class HBaseGraph implements Graph {
     }
 
     public HBaseGraph(HBaseGraphConfiguration config, Connection connection) {
+        if (config.getUseVertexIdFilter() && config.getVertexIdFilterRefreshSecs() <= 0) {
+            // a filter that is never rebuilt would rule out vertices added by other clients forever
+            throw new HBaseGraphException("The vertex id filter requires a positive refresh interval");
+        }
         try {
             this.config = config;
             this.connection = connection;
             this.features = new HBaseGraphFeatures(config.getInstanceType() != InstanceType.MOCK);
 
+            this.saltBuckets = HBaseGraphUtils.getSaltBuckets(config, connection);
+
             if (config.getCreateTables()) {
                 HBaseGraphUtils.createTables(config, connection);
             }
@@ -166,17 +187,41 @@ public class HBaseGraph implements Graph {
                 this.labelMetadataModel = null;
                 this.labelConnectionModel = null;
             }
+            if (config.getUseLabelIndex()) {
+                this.labelIndexModel = new LabelIndexModel(this,
+                        connection.getTable(HBaseGraphUtils.getTableName(config, Constants.LABEL_INDICES)));
+            } else {
+                this.labelIndexModel = null;
+            }
+
+            this.edgeCache = new ElementCache<>(config.getElementCacheMaxSize(), config.getElementCacheMaxBytes(),
+                    config.getElementCacheTtlSecs(), config.getElementCacheAdmissionFrequency());
+            this.vertexCache = new ElementCache<>(config.getElementCacheMaxSize(), config.getElementCacheMaxBytes(),
+                    config.getElementCacheTtlSecs(), config.getElementCacheAdmissionFrequency());
+
+            relationshipCacheMaxSize = config.getLong(HBaseGraphConfiguration.Keys.RELATIONSHIP_CACHE_MAX_SIZE, 1000);
+            relationshipCacheTtlSecs = config.getLong(HBaseGraphConfiguration.Keys.RELATIONSHIP_CACHE_TTL_SECS, 60);
+            // a relationship cache size of 0 still disables caching
+            this.adjacencyCache = new AdjacencyCache(relationshipCacheMaxSize == 0 ? 0 : config.getAdjacencyCacheMaxEdges(),
+                    config.getAdjacencyCacheMaxEntryEdges(), relationshipCacheTtlSecs);
 
-            this.edgeCache = CacheBuilder.<ByteBuffer, Edge>newBuilder()
-                    .maximumSize(config.getElementCacheMaxSize())
-                    .expireAfterAccess(config.getElementCacheTtlSecs(), TimeUnit.SECONDS)
-                    .removalListener((RemovalListener<ByteBuffer, Edge>) notif -> ((HBaseEdge) notif.getValue()).setCached(false))
-                    .build();
-            this.vertexCache = CacheBuilder.<ByteBuffer, Vertex>newBuilder()
-                    .maximumSize(config.getElementCacheMaxSize())
-                    .expireAfterAccess(config.getElementCacheTtlSecs(), TimeUnit.SECONDS)
-                    .removalListener((RemovalListener<ByteBuffer, Vertex>) notif -> ((HBaseVertex) notif.getValue()).setCached(false))
-                    .build();
+            if (config.getNegativeCacheMaxSize() > 0 || config.getUseVertexIdFilter()) {
+                this.negativeVertexCache = new NegativeVertexCache(config.getNegativeCacheMaxSize(),
+                        config.getNegativeCacheTtlSecs(), config.getVertexIdFilterExpectedSize(), config.getVertexIdFilterFpp());
+            } else {
+                this.negativeVertexCache = null;
+            }
+            this.scanSizer = config.getScanSizing()
+                    ? new ScanSizer(config.getScanCachingMin(), config.getScanCachingMax(), config.getScanMaxResultSize())
+                    : null;
+
+            if (config.getUseVertexIdFilter()) {
+                // the filter is built off the schema thread, as it scans the whole vertex table
+                submitVertexIdFilterRebuild();
+                int vertexIdFilterRefreshSecs = config.getVertexIdFilterRefreshSecs();
+                executor.scheduleAtFixedRate(this::submitVertexIdFilterRebuild,
+                        vertexIdFilterRefreshSecs, vertexIdFilterRefreshSecs, TimeUnit.SECONDS);
+            }
 
             refreshSchema();
             int schemaCacheRefreshSecs = config.getSchemaCacheRefreshSecs();
@@ -184,14 +229,16 @@ public class HBaseGraph implements Graph {
                 executor.scheduleAtFixedRate(this::refreshSchema, schemaCacheRefreshSecs, schemaCacheRefreshSecs, TimeUnit.SECONDS);
             }
 
-            relationshipCacheMaxSize = config.getLong(HBaseGraphConfiguration.Keys.RELATIONSHIP_CACHE_MAX_SIZE, 1000);
-            relationshipCacheTtlSecs = config.getLong(HBaseGraphConfiguration.Keys.RELATIONSHIP_CACHE_TTL_SECS, 60);
-
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
+    /**
+     * @deprecated the adjacency cache is bounded by the number of edges, and this is only
+     * checked for 0, which disables it
+     */
+    @Deprecated
     public long relationshipCacheMaxSize;
     public long relationshipCacheTtlSecs;
     public boolean useSchema = false;
@@ -200,6 +247,127 @@ public class HBaseGraph implements Graph {
         return executor;
     }
 
+    /**
+     * The executor for the sub-scans of parallel scans and for reading ahead of scans.  It
+     * runs up to the configured number of scan threads and queues no tasks, so that a scan
+     * never waits behind another that is not being consumed: once all threads are busy, it
+     * rejects tasks, and their scans are read on the thread of their consumer instead.
+     */
+    public ExecutorService getScanExecutor() {
+        if (scanExecutor == null) {
+            synchronized (this) {
+                if (scanExecutor == null) {
+                    scanExecutor = new ThreadPoolExecutor(0, config.getScanThreads(), 60L, TimeUnit.SECONDS,
+                            new SynchronousQueue<>(),
+                            new ThreadFactoryBuilder().setNameFormat("hgraphdb-scan-%d").setDaemon(true).build());
+                }
+            }
+        }
+        return scanExecutor;
+    }
+
+    /**
+     * How long a scanner may go without being read before its lease on the region servers
+     * expires.  Scans read on the scan executor are given up once their consumer has not
+     * taken a result for this long.
+     */
+    public long getScannerLeaseMillis() {
+        return connection.getConfiguration().getLong(HConstants.HBASE_CLIENT_SCANNER_TIMEOUT_PERIOD,
+                HConstants.DEFAULT_HBASE_CLIENT_SCANNER_TIMEOUT_PERIOD);
+    }
+
+    private void submitVertexIdFilterRebuild() {
+        try {
+            getScanExecutor().submit(this::rebuildVertexIdFilter);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Scan threads busy, skipping rebuild of the vertex id filter");
+        }
+    }
+
+    /**
+     * The number of salt buckets that the row keys of the graph are spread over.
+     */
+    public int getSaltBuckets() {
+        return saltBuckets;
+    }
+
+    public ElementCache<HBaseVertex> getVertexCache() {
+        return vertexCache;
+    }
+
+    public ElementCache<HBaseEdge> getEdgeCache() {
+        return edgeCache;
+    }
+
+    /**
+     * The statistics of the vertex cache, including the loads of vertices from the vertex table.
+     */
+    public CacheStats getVertexCacheStats() {
+        return vertexCache.stats();
+    }
+
+    /**
+     * The statistics of the edge cache, including the loads of edges from the edge table.
+     */
+    public CacheStats getEdgeCacheStats() {
+        return edgeCache.stats();
+    }
+
+    /**
+     * The number of vertex loads that shared the Get of a concurrent load of the same vertex.
+     */
+    public long getVertexCoalescedLoadCount() {
+        return vertexCache.coalescedLoadCount();
+    }
+
+    /**
+     * The number of edge loads that shared the Get of a concurrent load of the same edge.
+     */
+    public long getEdgeCoalescedLoadCount() {
+        return edgeCache.coalescedLoadCount();
+    }
+
+    /**
+     * Weigh the given cached element again, after its properties have been loaded.
+     */
+    protected void reweigh(HBaseElement element) {
+        if (element instanceof HBaseVertex) {
+            vertexCache.reweigh((HBaseVertex) element);
+        } else {
+            edgeCache.reweigh((HBaseEdge) element);
+        }
+    }
+
+    /**
+     * The cache of the ids of missing vertices, or null if it is disabled.
+     */
+    public NegativeVertexCache getNegativeVertexCache() {
+        return negativeVertexCache;
+    }
+
+    /**
+     * The sizer of the pages of element and index scans, or null if scan sizing is disabled.
+     */
+    public ScanSizer getScanSizer() {
+        return scanSizer;
+    }
+
+    /**
+     * Rebuild the filter of vertex ids from a key-only scan of the vertex table.
+     */
+    public void rebuildVertexIdFilter() {
+        if (negativeVertexCache == null || !config.getUseVertexIdFilter()) return;
+        try {
+            negativeVertexCache.rebuildFilter(vertexModel::idBytes);
+        } catch (Exception e) {
+            LOGGER.error("Could not rebuild vertex id filter", e);
+        }
+    }
+
+    public AdjacencyCache getAdjacencyCache() {
+        return adjacencyCache;
+    }
+
     public EdgeModel getEdgeModel() {
         return edgeModel;
     }
@@ -228,10 +396,18 @@ public class HBaseGraph implements Graph {
         return labelConnectionModel;
     }
 
+    public LabelIndexModel getLabelIndexModel() {
+        return labelIndexModel;
+    }
+
     public boolean isLazyLoading() {
         return configuration().isLazyLoading();
     }
 
+    public boolean isColumnLoading() {
+        return configuration().isColumnLoading();
+    }
+
     @Override
     public Vertex addVertex(final Object... keyValues) {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
@@ -252,10 +428,21 @@ public class HBaseGraph implements Graph {
 
     @Override
     public Iterator<Vertex> vertices(final Object... vertexIds) {
+        return vertices(vertexIds, null);
+    }
+
+    /**
+     * Get the vertices with the given ids, or all vertices if none are given, reading
+     * only the given properties.  The remaining properties are loaded when first accessed.
+     *
+     * @param vertexIds    The vertex ids
+     * @param propertyKeys The property keys to read, or null for all properties
+     */
+    public Iterator<Vertex> vertices(final Object[] vertexIds, final Set<String> propertyKeys) {
         if (vertexIds.length == 0) {
-            return allVertices();
+            return allVertices(propertyKeys);
         } else {
-            return Stream.of(vertexIds)
+            Iterator<Vertex> ids = Stream.of(vertexIds)
                     .map(id -> {
                         if (id instanceof Long)
                             return id;
@@ -266,14 +453,10 @@ public class HBaseGraph implements Graph {
                         else
                             return id;
                     })
-                    .flatMap(id -> {
-                        try {
-                            return Stream.of(vertex(id));
-                        } catch (final HBaseGraphNotFoundException e) {
-                            return Stream.empty();
-                        }
-                    })
+                    .filter(id -> negativeVertexCache == null || !negativeVertexCache.isMissing(id))
+                    .map(this::findOrCreateVertex)
                     .iterator();
+            return loadInBatches(ids, vertexModel, propertyKeys);
         }
     }
 
@@ -282,6 +465,18 @@ public class HBaseGraph implements Graph {
             throw Exceptions.argumentCanNotBeNull("id");
         }
         Vertex v = findOrCreateVertex(id);
+        if (negativeVertexCache != null) {
+            if (negativeVertexCache.isMissing(v.id())) {
+                throw new HBaseGraphNotFoundException(v, "Vertex does not exist: " + v.id());
+            }
+            try {
+                ((HBaseVertex) v).load();
+            } catch (HBaseGraphNotFoundException e) {
+                negativeVertexCache.recordMissing(v.id());
+                throw e;
+            }
+            return v;
+        }
         ((HBaseVertex) v).load();
         return v;
     }
@@ -290,20 +485,31 @@ public class HBaseGraph implements Graph {
         return findVertex(id, true);
     }
 
+    /**
+     * Find or create the vertex for a row read by a scan.  If scans bypass the element
+     * cache, a vertex that is not already cached is not added to it.
+     */
+    public Vertex findOrCreateScannedVertex(Object id) {
+        return findVertex(id, true, config.getElementCacheScanBypass());
+    }
+
     protected Vertex findVertex(Object id, boolean createIfNotFound) {
+        return findVertex(id, createIfNotFound, false);
+    }
+
+    private Vertex findVertex(Object id, boolean createIfNotFound, boolean bypassCache) {
         if (id == null) {
             throw Exceptions.argumentCanNotBeNull("id");
         }
         id = HBaseGraphUtils.generateIdIfNeeded(id);
-        ByteBuffer key = ByteBuffer.wrap(ValueUtils.serialize(id));
-        Vertex cachedVertex = vertexCache.getIfPresent(key);
-        if (cachedVertex != null && !((HBaseVertex) cachedVertex).isDeleted()) {
+        Object key = ElementCache.key(id);
+        HBaseVertex cachedVertex = bypassCache ? vertexCache.getQuietly(key) : vertexCache.getIfPresent(key);
+        if (cachedVertex != null && !cachedVertex.isDeleted()) {
             return cachedVertex;
         }
         if (!createIfNotFound) return null;
         HBaseVertex vertex = new HBaseVertex(this, id);
-        vertexCache.put(key, vertex);
-        vertex.setCached(true);
+        if (!bypassCache) vertexCache.put(key, vertex);
         return vertex;
     }
 
@@ -315,22 +521,53 @@ public class HBaseGraph implements Graph {
         return vertexModel.vertices();
     }
 
+    public Iterator<Vertex> allVertices(Set<String> propertyKeys) {
+        return vertexModel.vertices(propertyKeys);
+    }
+
     public Iterator<Vertex> allVertices(Object fromId, int limit) {
         return vertexModel.vertices(fromId, limit);
     }
 
     public Iterator<Vertex> verticesByLabel(String label) {
-        return vertexModel.vertices(label);
+        return verticesByLabel(label, (Set<String>) null);
+    }
+
+    public Iterator<Vertex> verticesByLabel(String label, Set<String> propertyKeys) {
+        if (labelIndexModel != null) {
+            return loadInBatches(labelIndexModel.vertices(label), vertexModel, propertyKeys);
+        }
+        return vertexModel.vertices(label, propertyKeys);
     }
 
     public Iterator<Vertex> verticesByLabel(String label, String key, Object value) {
         return vertexModel.vertices(label, key, value);
     }
 
+    public long countVertices() {
+        return vertexModel.count();
+    }
+
+    public long countVertices(String label) {
+        if (labelIndexModel != null) {
+            return labelIndexModel.count(ElementType.VERTEX, label);
+        }
+        return vertexModel.count(label);
+    }
+
+    public long countVertices(String label, String key, Object value) {
+        return vertexModel.count(label, key, value);
+    }
+
     public Iterator<Vertex> verticesInRange(String label, String key, Object inclusiveFromValue, Object exclusiveToValue) {
         return vertexModel.verticesInRange(label, key, inclusiveFromValue, exclusiveToValue);
     }
 
+    public Iterator<Vertex> verticesInRange(String label, String key, Object fromValue, boolean fromInclusive,
+                                            Object toValue, boolean toInclusive) {
+        return vertexModel.verticesInRange(label, key, fromValue, fromInclusive, toValue, toInclusive);
+    }
+
     public Iterator<Vertex> verticesWithLimit(String label, String key, Object fromValue, int limit) {
         return verticesWithLimit(label, key, fromValue, limit, false);
     }
@@ -339,16 +576,32 @@ public class HBaseGraph implements Graph {
         return vertexModel.verticesWithLimit(label, key, fromValue, limit, reversed);
     }
 
+    public Iterator<Vertex> verticesWithLimit(String label, String key, Object fromValue, boolean fromInclusive,
+                                              int limit, boolean reversed) {
+        return vertexModel.verticesWithLimit(label, key, fromValue, fromInclusive, limit, reversed);
+    }
+
     public Edge addEdge(Vertex outVertex, Vertex inVertex, String label, Object... keyValues) {
         return outVertex.addEdge(label, inVertex, keyValues);
     }
 
     @Override
     public Iterator<Edge> edges(final Object... edgeIds) {
+        return edges(edgeIds, null);
+    }
+
+    /**
+     * Get the edges with the given ids, or all edges if none are given, reading
+     * only the given properties.  The remaining properties are loaded when first accessed.
+     *
+     * @param edgeIds      The edge ids
+     * @param propertyKeys The property keys to read, or null for all properties
+     */
+    public Iterator<Edge> edges(final Object[] edgeIds, final Set<String> propertyKeys) {
         if (edgeIds.length == 0) {
-            return allEdges();
+            return allEdges(propertyKeys);
         } else {
-            return Stream.of(edgeIds)
+            Iterator<Edge> ids = Stream.of(edgeIds)
                     .map(id -> {
                         if (id instanceof Long)
                             return id;
@@ -359,17 +612,32 @@ public class HBaseGraph implements Graph {
                         else
                             return id;
                     })
-                    .flatMap(id -> {
-                        try {
-                            return Stream.of(edge(id));
-                        } catch (final HBaseGraphNotFoundException e) {
-                            return Stream.empty();
-                        }
-                    })
+                    .map(this::findOrCreateEdge)
                     .iterator();
+            return loadInBatches(ids, edgeModel, propertyKeys);
         }
     }
 
+    /**
+     * Load the given elements in batches of {@link HBaseGraphConfiguration#getLoadBatchSize()},
+     * using one multi-get per batch for the elements that are not already in the cache.
+     * Elements that do not exist are dropped.
+     */
+    private <E extends Element> Iterator<E> loadInBatches(Iterator<E> elements, ElementModel model,
+                                                          Set<String> propertyKeys) {
+        return CloseableIteratorUtils.flatMap(
+                CloseableIteratorUtils.batch(elements, config.getLoadBatchSize()),
+                batch -> {
+                    Set<E> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+                    model.loadIfNeeded(batch, notFound::add, propertyKeys);
+                    if (model == vertexModel && negativeVertexCache != null) {
+                        notFound.forEach(vertex -> negativeVertexCache.recordMissing(vertex.id()));
+                    }
+                    if (notFound.isEmpty()) return batch.iterator();
+                    return batch.stream().filter(element -> !notFound.contains(element)).iterator();
+                });
+    }
+
     public Edge edge(Object id) {
         if (id == null) {
             throw Exceptions.argumentCanNotBeNull("id");
@@ -383,22 +651,33 @@ public class HBaseGraph implements Graph {
         return findEdge(id, true);
     }
 
+    /**
+     * Find or create the edge for a row read by a scan.  If scans bypass the element
+     * cache, an edge that is not already cached is not added to it.
+     */
+    public Edge findOrCreateScannedEdge(Object id) {
+        return findEdge(id, true, config.getElementCacheScanBypass());
+    }
+
     protected Edge findEdge(Object id, boolean createIfNotFound) {
+        return findEdge(id, createIfNotFound, false);
+    }
+
+    private Edge findEdge(Object id, boolean createIfNotFound, boolean bypassCache) {
         if (id == null) {
             throw Exceptions.argumentCanNotBeNull("id");
         }
         id = HBaseGraphUtils.generateIdIfNeeded(id);
-        ByteBuffer key = ByteBuffer.wrap(ValueUtils.serialize(id));
-        Edge cachedEdge = edgeCache.getIfPresent(key);
-        if (cachedEdge != null && !((HBaseEdge) cachedEdge).isDeleted()) {
+        Object key = ElementCache.key(id);
+        HBaseEdge cachedEdge = bypassCache ? edgeCache.getQuietly(key) : edgeCache.getIfPresent(key);
+        if (cachedEdge != null && !cachedEdge.isDeleted()) {
             return cachedEdge;
         }
         if (!createIfNotFound) {
             return null;
         }
         HBaseEdge edge = new HBaseEdge(this, id);
-        edgeCache.put(key, edge);
-        edge.setCached(true);
+        if (!bypassCache) edgeCache.put(key, edge);
         return edge;
     }
 
@@ -410,10 +689,36 @@ public class HBaseGraph implements Graph {
         return edgeModel.edges();
     }
 
+    public Iterator<Edge> allEdges(Set<String> propertyKeys) {
+        return edgeModel.edges(propertyKeys);
+    }
+
     public Iterator<Edge> allEdges(Object fromId, int limit) {
         return edgeModel.edges(fromId, limit);
     }
 
+    public Iterator<Edge> edgesByLabel(String label) {
+        return edgesByLabel(label, null);
+    }
+
+    public Iterator<Edge> edgesByLabel(String label, Set<String> propertyKeys) {
+        if (labelIndexModel != null) {
+            return loadInBatches(labelIndexModel.edges(label), edgeModel, propertyKeys);
+        }
+        return edgeModel.edges(label, propertyKeys);
+    }
+
+    public long countEdges() {
+        return edgeModel.count();
+    }
+
+    public long countEdges(String label) {
+        if (labelIndexModel != null) {
+            return labelIndexModel.count(ElementType.EDGE, label);
+        }
+        return edgeModel.count(label);
+    }
+
     @Override
     public <C extends GraphComputer> C compute(final Class<C> graphComputerClass) {
         throw Graph.Exceptions.graphComputerNotSupported();
@@ -492,6 +797,22 @@ public class HBaseGraph implements Graph {
     }
 
     public void createIndex(ElementType type, String label, String propertyKey, boolean isUnique, boolean populate, boolean async) {
+        createIndex(type, label, propertyKey, isUnique, 1, populate, async);
+    }
+
+    /**
+     * Create an index whose entries are spread over the given number of salt buckets by value,
+     * so that writes to a hot index are not all handled by one region.  Reads of the index
+     * scan the buckets in parallel.  Only vertex indices support more than one bucket.
+     */
+    public void createIndex(ElementType type, String label, String propertyKey, boolean isUnique,
+                            int valueBuckets, boolean populate, boolean async) {
+        if (valueBuckets < 1 || valueBuckets > saltBuckets) {
+            throw new HBaseGraphNotValidException("Value buckets must be from 1 to " + saltBuckets + ": " + valueBuckets);
+        }
+        if (type == ElementType.EDGE && valueBuckets > 1) {
+            throw new HBaseGraphNotValidException("Value buckets are not supported for edge indices");
+        }
         if (useSchema) {
             getLabel(type, label);
             ValueType propertyType = validateProperty(type, label, propertyKey, null);
@@ -505,7 +826,7 @@ public class HBaseGraph implements Graph {
             throw new HBaseGraphNotUniqueException("Index for " + indexKey.toString() + " already exists");
         }
         long now = System.currentTimeMillis();
-        IndexMetadata index = new IndexMetadata(type, label, propertyKey, isUnique, State.CREATED, now, now);
+        IndexMetadata index = new IndexMetadata(type, label, propertyKey, isUnique, valueBuckets, State.CREATED, now, now);
         if (oldIndex == null) {
             indexMetadataModel.createIndexMetadata(index);
         } else {
@@ -545,6 +866,13 @@ public class HBaseGraph implements Graph {
         return indices.hasNext() ? indices.next() : null;
     }
 
+    /**
+     * The index with the given key, whatever its state.
+     */
+    public IndexMetadata getIndex(IndexMetadata.Key indexKey) {
+        return indices.get(indexKey);
+    }
+
     public Iterator<IndexMetadata> getIndices(OperationType op, ElementType type) {
         return indices.values().stream()
                 .filter(index -> isIndexActive(op, index)
@@ -745,6 +1073,7 @@ public class HBaseGraph implements Graph {
     @VisibleForTesting
     protected void close(boolean clear) {
         executor.shutdown();
+        if (scanExecutor != null) scanExecutor.shutdownNow();
         this.edgeModel.close(clear);
         this.edgeIndexModel.close(clear);
         this.vertexModel.close(clear);
@@ -756,6 +1085,9 @@ public class HBaseGraph implements Graph {
         if (this.labelConnectionModel != null) {
             this.labelConnectionModel.close(clear);
         }
+        if (this.labelIndexModel != null) {
+            this.labelIndexModel.close(clear);
+        }
     }
 
     @VisibleForTesting
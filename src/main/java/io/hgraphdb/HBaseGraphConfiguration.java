@@ -43,13 +43,43 @@ public class HBaseGraphConfiguration extends AbstractConfiguration implements Se
         public static final String EDGE_TABLE_TTL                  = "gremlin.hbase.edgeTableTTL";
         public static final String VERTEX_TABLE_TTL                = "gremlin.hbase.vertexTableTTL";
         public static final String REGION_COUNT                    = "gremlin.hbase.regionCount";
+        public static final String SALT_BUCKETS                    = "gremlin.hbase.saltBuckets";
         public static final String GLOBAL_CACHE_MAX_SIZE           = "gremlin.hbase.globalCacheMaxSize";
+        public static final String GLOBAL_CACHE_MAX_BYTES          = "gremlin.hbase.globalCacheMaxBytes";
         public static final String GLOBAL_CACHE_TTL_SECS           = "gremlin.hbase.globalCacheTtlSecs";
+        public static final String GLOBAL_CACHE_ADMISSION_FREQ     = "gremlin.hbase.globalCacheAdmissionFrequency";
+        public static final String GLOBAL_CACHE_SCAN_BYPASS        = "gremlin.hbase.globalCacheScanBypass";
+        public static final String OFF_HEAP_CACHE_MAX_BYTES        = "gremlin.hbase.offHeapCacheMaxBytes";
+        public static final String OFF_HEAP_CACHE_TTL_SECS         = "gremlin.hbase.offHeapCacheTtlSecs";
+        public static final String NEGATIVE_CACHE_MAX_SIZE         = "gremlin.hbase.negativeCacheMaxSize";
+        public static final String NEGATIVE_CACHE_TTL_SECS         = "gremlin.hbase.negativeCacheTtlSecs";
+        public static final String VERTEX_ID_FILTER                = "gremlin.hbase.vertexIdFilter";
+        public static final String VERTEX_ID_FILTER_EXPECTED_SIZE  = "gremlin.hbase.vertexIdFilterExpectedSize";
+        public static final String VERTEX_ID_FILTER_FPP            = "gremlin.hbase.vertexIdFilterFpp";
+        public static final String VERTEX_ID_FILTER_REFRESH_SECS   = "gremlin.hbase.vertexIdFilterRefreshSecs";
         public static final String RELATIONSHIP_CACHE_MAX_SIZE     = "gremlin.hbase.relationshipCacheMaxSize";
         public static final String RELATIONSHIP_CACHE_TTL_SECS     = "gremlin.hbase.relationshipCacheTtlSecs";
+        public static final String ADJACENCY_CACHE_MAX_EDGES       = "gremlin.hbase.adjacencyCacheMaxEdges";
+        public static final String ADJACENCY_CACHE_MAX_ENTRY_EDGES = "gremlin.hbase.adjacencyCacheMaxEntryEdges";
         public static final String LAZY_LOADING                    = "gremlin.hbase.lazyLoading";
+        public static final String COLUMN_LOADING                  = "gremlin.hbase.columnLoading";
+        public static final String LOAD_BATCH_SIZE                 = "gremlin.hbase.loadBatchSize";
+        public static final String VERTEX_STEP_BATCH_SIZE          = "gremlin.hbase.vertexStepBatchSize";
+        public static final String SCAN_PARALLELISM                = "gremlin.hbase.scanParallelism";
+        public static final String SCAN_THREADS                    = "gremlin.hbase.scanThreads";
+        public static final String SCAN_READ_AHEAD_PAGES           = "gremlin.hbase.scanReadAheadPages";
+        public static final String SCAN_READ_AHEAD_HYDRATE         = "gremlin.hbase.scanReadAheadHydrate";
+        public static final String SCAN_SIZING                     = "gremlin.hbase.scanSizing";
+        public static final String SCAN_CACHING_MIN                = "gremlin.hbase.scanCachingMin";
+        public static final String SCAN_CACHING_MAX                = "gremlin.hbase.scanCachingMax";
+        public static final String SCAN_MAX_RESULT_SIZE            = "gremlin.hbase.scanMaxResultSize";
+        public static final String ASYNC_THREADS                   = "gremlin.hbase.asyncThreads";
+        public static final String ASYNC_QUEUE_SIZE                = "gremlin.hbase.asyncQueueSize";
+        public static final String GROUP_COMMIT_WINDOW_MICROS      = "gremlin.hbase.groupCommitWindowMicros";
+        public static final String GROUP_COMMIT_MAX_BATCH_SIZE     = "gremlin.hbase.groupCommitMaxBatchSize";
         public static final String BULK_LOADER_SKIP_WAL            = "gremlin.hbase.bulkLoaderSkipWAL";
         public static final String USE_SCHEMA                      = "gremlin.hbase.useSchema";
+        public static final String USE_LABEL_INDEX                 = "gremlin.hbase.useLabelIndex";
 
         /* How often to refresh the schema cache */
         public static final String SCHEMA_CACHE_REFRESH_SECS       = "gremlin.hbase.schemaCacheRefreshSecs";
@@ -198,6 +228,20 @@ public class HBaseGraphConfiguration extends AbstractConfiguration implements Se
         return this;
     }
 
+    /**
+     * The number of salt buckets that row keys are spread over, from 1 to 256.  It is
+     * recorded with the tables when they are created.  A graph over existing tables uses
+     * the recorded count, and fails to open if a different count is configured.
+     */
+    public int getSaltBuckets() {
+        return conf.getInt(Keys.SALT_BUCKETS, ValueUtils.DEFAULT_NUM_BUCKETS);
+    }
+
+    public HBaseGraphConfiguration setSaltBuckets(int saltBuckets) {
+        conf.setProperty(Keys.SALT_BUCKETS, saltBuckets);
+        return this;
+    }
+
     public long getElementCacheMaxSize() {
         return conf.getLong(Keys.GLOBAL_CACHE_MAX_SIZE, 1000000);
     }
@@ -207,6 +251,20 @@ public class HBaseGraphConfiguration extends AbstractConfiguration implements Se
         return this;
     }
 
+    /**
+     * The approximate number of bytes retained by each of the vertex and edge caches.  When
+     * set, the caches are bounded by the weight of their elements rather than by their
+     * number; a max size of 0 still disables them.
+     */
+    public long getElementCacheMaxBytes() {
+        return conf.getLong(Keys.GLOBAL_CACHE_MAX_BYTES, 0);
+    }
+
+    public HBaseGraphConfiguration setElementCacheMaxBytes(long maxBytes) {
+        conf.setProperty(Keys.GLOBAL_CACHE_MAX_BYTES, maxBytes);
+        return this;
+    }
+
     public long getElementCacheTtlSecs() {
         return conf.getLong(Keys.GLOBAL_CACHE_TTL_SECS, 60);
     }
@@ -216,10 +274,132 @@ public class HBaseGraphConfiguration extends AbstractConfiguration implements Se
         return this;
     }
 
+    /**
+     * The number of recent lookups of an element id, up to 15, needed for the element to be
+     * admitted into a full vertex or edge cache.  A frequency of 1 admits every element.
+     */
+    public int getElementCacheAdmissionFrequency() {
+        return conf.getInt(Keys.GLOBAL_CACHE_ADMISSION_FREQ, 2);
+    }
+
+    public HBaseGraphConfiguration setElementCacheAdmissionFrequency(int frequency) {
+        conf.setProperty(Keys.GLOBAL_CACHE_ADMISSION_FREQ, frequency);
+        return this;
+    }
+
+    /**
+     * Whether the elements read by full table and label scans bypass the vertex and edge
+     * caches.  Such elements are taken from the caches if already there, but are not added.
+     */
+    public boolean getElementCacheScanBypass() {
+        return conf.getBoolean(Keys.GLOBAL_CACHE_SCAN_BYPASS, false);
+    }
+
+    public HBaseGraphConfiguration setElementCacheScanBypass(boolean scanBypass) {
+        conf.setProperty(Keys.GLOBAL_CACHE_SCAN_BYPASS, scanBypass);
+        return this;
+    }
+
+    /**
+     * The number of bytes of direct memory held by each of the off-heap row caches of the
+     * vertex and edge tables.  The off-heap caches are disabled if this is 0, the default.
+     */
+    public long getOffHeapCacheMaxBytes() {
+        return conf.getLong(Keys.OFF_HEAP_CACHE_MAX_BYTES, 0);
+    }
+
+    public HBaseGraphConfiguration setOffHeapCacheMaxBytes(long maxBytes) {
+        conf.setProperty(Keys.OFF_HEAP_CACHE_MAX_BYTES, maxBytes);
+        return this;
+    }
+
+    public long getOffHeapCacheTtlSecs() {
+        return conf.getLong(Keys.OFF_HEAP_CACHE_TTL_SECS, 60);
+    }
+
+    public HBaseGraphConfiguration setOffHeapCacheTtlSecs(long ttlSecs) {
+        conf.setProperty(Keys.OFF_HEAP_CACHE_TTL_SECS, ttlSecs);
+        return this;
+    }
+
+    /**
+     * The most ids of missing vertices remembered by the graph, so that looking them up
+     * again does not need a Get.  Missing vertices are not remembered if this is 0, the default.
+     */
+    public long getNegativeCacheMaxSize() {
+        return conf.getLong(Keys.NEGATIVE_CACHE_MAX_SIZE, 0);
+    }
+
+    public HBaseGraphConfiguration setNegativeCacheMaxSize(long maxSize) {
+        conf.setProperty(Keys.NEGATIVE_CACHE_MAX_SIZE, maxSize);
+        return this;
+    }
+
+    public long getNegativeCacheTtlSecs() {
+        return conf.getLong(Keys.NEGATIVE_CACHE_TTL_SECS, 60);
+    }
+
+    public HBaseGraphConfiguration setNegativeCacheTtlSecs(long ttlSecs) {
+        conf.setProperty(Keys.NEGATIVE_CACHE_TTL_SECS, ttlSecs);
+        return this;
+    }
+
+    /**
+     * Whether the graph keeps a Bloom filter of the ids of all vertices, built from a
+     * key-only scan of the vertex table, so that ids that were never written are not looked up.
+     * A vertex written by another client is reported missing until the next rebuild of the
+     * filter, so the filter requires a refresh interval, which bounds that window.
+     */
+    public boolean getUseVertexIdFilter() {
+        return conf.getBoolean(Keys.VERTEX_ID_FILTER, false);
+    }
+
+    public HBaseGraphConfiguration setUseVertexIdFilter(boolean useVertexIdFilter) {
+        conf.setProperty(Keys.VERTEX_ID_FILTER, useVertexIdFilter);
+        return this;
+    }
+
+    public long getVertexIdFilterExpectedSize() {
+        return conf.getLong(Keys.VERTEX_ID_FILTER_EXPECTED_SIZE, 10000000);
+    }
+
+    public HBaseGraphConfiguration setVertexIdFilterExpectedSize(long expectedSize) {
+        conf.setProperty(Keys.VERTEX_ID_FILTER_EXPECTED_SIZE, expectedSize);
+        return this;
+    }
+
+    public double getVertexIdFilterFpp() {
+        return conf.getDouble(Keys.VERTEX_ID_FILTER_FPP, 0.01);
+    }
+
+    public HBaseGraphConfiguration setVertexIdFilterFpp(double fpp) {
+        conf.setProperty(Keys.VERTEX_ID_FILTER_FPP, fpp);
+        return this;
+    }
+
+    /**
+     * How often the vertex id filter is rebuilt, to see vertices added by other clients.
+     * Each rebuild scans the keys of the whole vertex table.  It must be positive if the
+     * filter is used.
+     */
+    public int getVertexIdFilterRefreshSecs() {
+        return conf.getInt(Keys.VERTEX_ID_FILTER_REFRESH_SECS, 300);
+    }
+
+    public HBaseGraphConfiguration setVertexIdFilterRefreshSecs(int refreshSecs) {
+        conf.setProperty(Keys.VERTEX_ID_FILTER_REFRESH_SECS, refreshSecs);
+        return this;
+    }
+
 //    public long getRelationshipCacheMaxSize() {
 //        return conf.getLong(Keys.RELATIONSHIP_CACHE_MAX_SIZE, 1000);
 //    }
 
+    /**
+     * @deprecated the adjacency cache is shared by all vertices and is bounded by
+     * {@link #setAdjacencyCacheMaxEdges(long)}; a max size of 0 still disables it
+     */
+    @Deprecated
     public HBaseGraphConfiguration setRelationshipCacheMaxSize(long maxSize) {
         conf.setProperty(Keys.RELATIONSHIP_CACHE_MAX_SIZE, maxSize);
         return this;
@@ -234,6 +414,31 @@ public class HBaseGraphConfiguration extends AbstractConfiguration implements Se
         return this;
     }
 
+    /**
+     * The most edges held by the adjacency cache of the graph, over all vertices.
+     */
+    public long getAdjacencyCacheMaxEdges() {
+        return conf.getLong(Keys.ADJACENCY_CACHE_MAX_EDGES, 1000000);
+    }
+
+    public HBaseGraphConfiguration setAdjacencyCacheMaxEdges(long maxEdges) {
+        conf.setProperty(Keys.ADJACENCY_CACHE_MAX_EDGES, maxEdges);
+        return this;
+    }
+
+    /**
+     * The most edges cached for a single adjacency query of a vertex.  The edges of a
+     * query that returns more are not cached.
+     */
+    public int getAdjacencyCacheMaxEntryEdges() {
+        return conf.getInt(Keys.ADJACENCY_CACHE_MAX_ENTRY_EDGES, 10000);
+    }
+
+    public HBaseGraphConfiguration setAdjacencyCacheMaxEntryEdges(int maxEntryEdges) {
+        conf.setProperty(Keys.ADJACENCY_CACHE_MAX_ENTRY_EDGES, maxEntryEdges);
+        return this;
+    }
+
     public boolean isLazyLoading() {
         return conf.getBoolean(Keys.LAZY_LOADING, false);
     }
@@ -243,6 +448,190 @@ public class HBaseGraphConfiguration extends AbstractConfiguration implements Se
         return this;
     }
 
+    /**
+     * Whether a property that a partially loaded element does not hold is read on its own,
+     * along with the label, rather than by loading the whole row.  The whole row is still
+     * loaded when the properties of the element are enumerated.
+     */
+    public boolean isColumnLoading() {
+        return conf.getBoolean(Keys.COLUMN_LOADING, false);
+    }
+
+    public HBaseGraphConfiguration setColumnLoading(boolean columnLoading) {
+        conf.setProperty(Keys.COLUMN_LOADING, columnLoading);
+        return this;
+    }
+
+    public int getLoadBatchSize() {
+        return conf.getInt(Keys.LOAD_BATCH_SIZE, 100);
+    }
+
+    public HBaseGraphConfiguration setLoadBatchSize(int loadBatchSize) {
+        conf.setProperty(Keys.LOAD_BATCH_SIZE, loadBatchSize);
+        return this;
+    }
+
+    public int getVertexStepBatchSize() {
+        return conf.getInt(Keys.VERTEX_STEP_BATCH_SIZE, 1);
+    }
+
+    public HBaseGraphConfiguration setVertexStepBatchSize(int vertexStepBatchSize) {
+        conf.setProperty(Keys.VERTEX_STEP_BATCH_SIZE, vertexStepBatchSize);
+        return this;
+    }
+
+    /**
+     * The number of salt ranges that full and label scans of the element tables are split into,
+     * each scanned on its own thread.  Results of a parallel scan are not in key order, and
+     * may include elements written while the scan is being iterated.
+     */
+    public int getScanParallelism() {
+        return conf.getInt(Keys.SCAN_PARALLELISM, 1);
+    }
+
+    public HBaseGraphConfiguration setScanParallelism(int scanParallelism) {
+        conf.setProperty(Keys.SCAN_PARALLELISM, scanParallelism);
+        return this;
+    }
+
+    /**
+     * The maximum number of threads that run the sub-scans of parallel scans and read ahead
+     * of scans.  Once they are all busy, further scans are read on the thread of their consumer.
+     */
+    public int getScanThreads() {
+        return conf.getInt(Keys.SCAN_THREADS, 64);
+    }
+
+    public HBaseGraphConfiguration setScanThreads(int scanThreads) {
+        conf.setProperty(Keys.SCAN_THREADS, scanThreads);
+        return this;
+    }
+
+    /**
+     * The number of pages of scan results, of the load batch size each, to fetch on a
+     * background thread ahead of the consumer of a scan, or 0 to not read ahead.
+     */
+    public int getScanReadAheadPages() {
+        return conf.getInt(Keys.SCAN_READ_AHEAD_PAGES, 0);
+    }
+
+    public HBaseGraphConfiguration setScanReadAheadPages(int scanReadAheadPages) {
+        conf.setProperty(Keys.SCAN_READ_AHEAD_PAGES, scanReadAheadPages);
+        return this;
+    }
+
+    /**
+     * Whether index scans that read ahead also load the elements of the pages read ahead.
+     */
+    public boolean getScanReadAheadHydrate() {
+        return conf.getBoolean(Keys.SCAN_READ_AHEAD_HYDRATE, false);
+    }
+
+    public HBaseGraphConfiguration setScanReadAheadHydrate(boolean scanReadAheadHydrate) {
+        conf.setProperty(Keys.SCAN_READ_AHEAD_HYDRATE, scanReadAheadHydrate);
+        return this;
+    }
+
+    /**
+     * Whether the number of rows that element and index scans fetch per RPC is set from the
+     * number of results requested, and adapted to the sizes and consumption of earlier scans
+     * of the same kind, within the scan caching bounds.
+     */
+    public boolean getScanSizing() {
+        return conf.getBoolean(Keys.SCAN_SIZING, false);
+    }
+
+    public HBaseGraphConfiguration setScanSizing(boolean scanSizing) {
+        conf.setProperty(Keys.SCAN_SIZING, scanSizing);
+        return this;
+    }
+
+    public int getScanCachingMin() {
+        return conf.getInt(Keys.SCAN_CACHING_MIN, 10);
+    }
+
+    public HBaseGraphConfiguration setScanCachingMin(int scanCachingMin) {
+        conf.setProperty(Keys.SCAN_CACHING_MIN, scanCachingMin);
+        return this;
+    }
+
+    /**
+     * The most rows that a sized scan fetches per RPC.  There is no such cap by default,
+     * so that pages are only bounded by the max result size.
+     */
+    public int getScanCachingMax() {
+        return conf.getInt(Keys.SCAN_CACHING_MAX, Integer.MAX_VALUE);
+    }
+
+    public HBaseGraphConfiguration setScanCachingMax(int scanCachingMax) {
+        conf.setProperty(Keys.SCAN_CACHING_MAX, scanCachingMax);
+        return this;
+    }
+
+    /**
+     * The maximum number of bytes that a sized scan fetches per RPC.
+     */
+    public long getScanMaxResultSize() {
+        return conf.getLong(Keys.SCAN_MAX_RESULT_SIZE, 2L * 1024 * 1024);
+    }
+
+    public HBaseGraphConfiguration setScanMaxResultSize(long scanMaxResultSize) {
+        conf.setProperty(Keys.SCAN_MAX_RESULT_SIZE, scanMaxResultSize);
+        return this;
+    }
+
+    /**
+     * The number of threads that run the operations of an {@link AsyncHBaseGraph}, which
+     * is also the most RPCs it has in flight at once.
+     */
+    public int getAsyncThreads() {
+        return conf.getInt(Keys.ASYNC_THREADS, 16);
+    }
+
+    public HBaseGraphConfiguration setAsyncThreads(int asyncThreads) {
+        conf.setProperty(Keys.ASYNC_THREADS, asyncThreads);
+        return this;
+    }
+
+    /**
+     * The most operations of an {@link AsyncHBaseGraph} that wait for a thread.  Operations
+     * submitted beyond that fail at once.
+     */
+    public int getAsyncQueueSize() {
+        return conf.getInt(Keys.ASYNC_QUEUE_SIZE, 1000);
+    }
+
+    public HBaseGraphConfiguration setAsyncQueueSize(int asyncQueueSize) {
+        conf.setProperty(Keys.ASYNC_QUEUE_SIZE, asyncQueueSize);
+        return this;
+    }
+
+    /**
+     * How long the writes of concurrent callers to an element or index table are gathered
+     * into one batch while an earlier batch is being written, or 0 to write each call on
+     * its own.  A batch is sent at once if no other batch is being written.
+     */
+    public long getGroupCommitWindowMicros() {
+        return conf.getLong(Keys.GROUP_COMMIT_WINDOW_MICROS, 0);
+    }
+
+    public HBaseGraphConfiguration setGroupCommitWindowMicros(long groupCommitWindowMicros) {
+        conf.setProperty(Keys.GROUP_COMMIT_WINDOW_MICROS, groupCommitWindowMicros);
+        return this;
+    }
+
+    /**
+     * The number of mutations at which a group of writes is sent before its window has passed.
+     */
+    public int getGroupCommitMaxBatchSize() {
+        return conf.getInt(Keys.GROUP_COMMIT_MAX_BATCH_SIZE, 100);
+    }
+
+    public HBaseGraphConfiguration setGroupCommitMaxBatchSize(int groupCommitMaxBatchSize) {
+        conf.setProperty(Keys.GROUP_COMMIT_MAX_BATCH_SIZE, groupCommitMaxBatchSize);
+        return this;
+    }
+
     public boolean getBulkLoaderSkipWAL() {
         return conf.getBoolean(Keys.BULK_LOADER_SKIP_WAL, false);
     }
@@ -261,6 +650,20 @@ public class HBaseGraphConfiguration extends AbstractConfiguration implements Se
         return this;
     }
 
+    /**
+     * Whether to maintain a table of (label, id) rows for vertices and edges, so that
+     * lookups by label do not scan the element tables.  Elements written while the
+     * label index is disabled are not in the index.
+     */
+    public boolean getUseLabelIndex() {
+        return conf.getBoolean(Keys.USE_LABEL_INDEX, false);
+    }
+
+    public HBaseGraphConfiguration setUseLabelIndex(boolean useLabelIndex) {
+        conf.setProperty(Keys.USE_LABEL_INDEX, useLabelIndex);
+        return this;
+    }
+
     public int getSchemaCacheRefreshSecs() {
         return conf.getInt(Keys.SCHEMA_CACHE_REFRESH_SECS, 1);
     }
@@ -31,6 +31,9 @@ public final class HBaseGraphUtils {
 
     private static final Map<String, Connection> connections = new ConcurrentHashMap<>();
 
+    // the table descriptor value that records the number of salt buckets
+    private static final String SALT_BUCKETS_VALUE = "hgraphdb.saltBuckets";
+
     public static Connection getConnection(HBaseGraphConfiguration config) {
         Connection conn = connections.get(config.getGraphNamespace());
         if (conn != null && !conn.isClosed()) return conn;
@@ -101,7 +104,8 @@ public final class HBaseGraphUtils {
             if (config.getInstanceType() != HBaseGraphConfiguration.InstanceType.BIGTABLE) {
                 createNamespace(config, admin);
             }
-            createTables(config, admin);
+            // tables added to an existing graph use the salt buckets of its other tables
+            createTables(config, admin, getSaltBuckets(config, conn));
         } catch (Exception e) {
             throw new HBaseGraphException(e);
         } finally {
@@ -121,23 +125,28 @@ public final class HBaseGraphUtils {
         }
     }
 
-    private static void createTables(HBaseGraphConfiguration config, Admin admin) throws IOException {
-        createTable(config, admin, Constants.EDGES, config.getEdgeTableTTL());
-        createTable(config, admin, Constants.EDGE_INDICES, config.getEdgeTableTTL());
-        createTable(config, admin, Constants.VERTICES, config.getVertexTableTTL());
-        createTable(config, admin, Constants.VERTEX_INDICES, config.getVertexTableTTL());
-        createTable(config, admin, Constants.INDEX_METADATA, HConstants.FOREVER);
+    private static void createTables(HBaseGraphConfiguration config, Admin admin, int saltBuckets) throws IOException {
+        createTable(config, admin, Constants.EDGES, config.getEdgeTableTTL(), saltBuckets);
+        createTable(config, admin, Constants.EDGE_INDICES, config.getEdgeTableTTL(), saltBuckets);
+        createTable(config, admin, Constants.VERTICES, config.getVertexTableTTL(), saltBuckets);
+        createTable(config, admin, Constants.VERTEX_INDICES, config.getVertexTableTTL(), saltBuckets);
+        createTable(config, admin, Constants.INDEX_METADATA, HConstants.FOREVER, saltBuckets);
         if (config.getUseSchema()) {
-            createTable(config, admin, Constants.LABEL_METADATA, HConstants.FOREVER);
-            createTable(config, admin, Constants.LABEL_CONNECTIONS, HConstants.FOREVER);
+            createTable(config, admin, Constants.LABEL_METADATA, HConstants.FOREVER, saltBuckets);
+            createTable(config, admin, Constants.LABEL_CONNECTIONS, HConstants.FOREVER, saltBuckets);
+        }
+        if (config.getUseLabelIndex()) {
+            createTable(config, admin, Constants.LABEL_INDICES, HConstants.FOREVER, saltBuckets);
         }
     }
 
-    private static void createTable(HBaseGraphConfiguration config, Admin admin, String name, int ttl) throws IOException {
+    private static void createTable(HBaseGraphConfiguration config, Admin admin, String name, int ttl,
+                                    int saltBuckets) throws IOException {
         TableName tableName = getTableName(config, name);
         if (admin.tableExists(tableName)) return;
         try {
             HTableDescriptor tableDescriptor = new HTableDescriptor(tableName);
+            tableDescriptor.setValue(SALT_BUCKETS_VALUE, String.valueOf(saltBuckets));
             tableDescriptor.setDurability(config.getTableAsyncWAL() ? Durability.ASYNC_WAL : Durability.USE_DEFAULT);
             HColumnDescriptor columnDescriptor = new HColumnDescriptor(DEFAULT_FAMILY)
                     .setCompressionType(Compression.Algorithm.valueOf(config.getCompressionAlgorithm().toUpperCase()))
@@ -149,11 +158,11 @@ public final class HBaseGraphUtils {
                     .setBlockCacheEnabled(true)
                     .setTimeToLive(ttl);
             tableDescriptor.addFamily(columnDescriptor);
-            int regionCount = config.getRegionCount();
+            int regionCount = Math.min(config.getRegionCount(), saltBuckets);
             if (regionCount <= 1) {
                 admin.createTable(tableDescriptor);
             } else {
-                admin.createTable(tableDescriptor, getStartKey(regionCount), getEndKey(regionCount), regionCount);
+                admin.createTable(tableDescriptor, getSplitKeys(saltBuckets, regionCount));
             }
         } catch (IOException e) {
             LOGGER.error("Could not create table " + tableName, e);
@@ -203,6 +212,7 @@ public final class HBaseGraphUtils {
             dropTable(config, admin, Constants.LABEL_METADATA);
             dropTable(config, admin, Constants.LABEL_CONNECTIONS);
 //        }
+        dropTable(config, admin, Constants.LABEL_INDICES);
         admin.deleteNamespace(config.getGraphNamespace());
     }
 
@@ -214,6 +224,7 @@ public final class HBaseGraphUtils {
         truncateTable(config, admin, Constants.INDEX_METADATA);
         truncateTable(config, admin, Constants.LABEL_METADATA);
         truncateTable(config, admin, Constants.LABEL_CONNECTIONS);
+        truncateTable(config, admin, Constants.LABEL_INDICES);
 
     }
 
@@ -235,14 +246,50 @@ public final class HBaseGraphUtils {
         admin.truncateTable(tableName, true);
     }
 
-    private static byte[] getStartKey(int regionCount) {
-        byte[] ret = {(byte)((Byte.MAX_VALUE-Byte.MIN_VALUE+1) / regionCount)};
-        return ret;
+    /**
+     * Returns the keys that split the given number of salt buckets into contiguous ranges
+     * whose sizes differ by at most one bucket.
+     *
+     * @param saltBuckets the number of salt buckets
+     * @param splits the number of ranges, at most {@code saltBuckets}
+     * @return the first salt of every range but the first
+     */
+    public static byte[][] getSplitKeys(int saltBuckets, int splits) {
+        byte[][] splitKeys = new byte[splits - 1][];
+        for (int i = 1; i < splits; i++) {
+            splitKeys[i - 1] = new byte[]{(byte) (i * saltBuckets / splits)};
+        }
+        return splitKeys;
     }
 
-    private static byte[] getEndKey(int regionCount) {
-        byte[] ret = {(byte)((Byte.MAX_VALUE-Byte.MIN_VALUE+1) / regionCount * (regionCount - 1))};
-        return ret;
+    /**
+     * Returns the number of salt buckets of the graph, which is the number recorded with
+     * the vertex table if it exists.  Tables created before the number was recorded use
+     * {@link ValueUtils#DEFAULT_NUM_BUCKETS}.
+     */
+    public static int getSaltBuckets(HBaseGraphConfiguration config, Connection conn) {
+        int saltBuckets = config.getSaltBuckets();
+        if (config.getInstanceType() != HBaseGraphConfiguration.InstanceType.MOCK) {
+            try (Admin admin = conn.getAdmin()) {
+                TableName tableName = getTableName(config, Constants.VERTICES);
+                if (admin.tableExists(tableName)) {
+                    String value = admin.getTableDescriptor(tableName).getValue(SALT_BUCKETS_VALUE);
+                    int stored = value != null ? Integer.parseInt(value) : ValueUtils.DEFAULT_NUM_BUCKETS;
+                    if (config.containsKey(SALT_BUCKETS) && saltBuckets != stored) {
+                        throw new HBaseGraphNotValidException("Salt buckets " + saltBuckets
+                                + " do not match the " + stored + " salt buckets of the existing tables");
+                    }
+                    saltBuckets = stored;
+                }
+            } catch (IOException e) {
+                throw new HBaseGraphException(e);
+            }
+        }
+        if (saltBuckets < 1 || saltBuckets > ValueUtils.DEFAULT_NUM_BUCKETS) {
+            throw new HBaseGraphNotValidException("Salt buckets must be from 1 to "
+                    + ValueUtils.DEFAULT_NUM_BUCKETS + ": " + saltBuckets);
+        }
+        return saltBuckets;
     }
 
     public static byte[] incrementBytes(final byte[] value) {
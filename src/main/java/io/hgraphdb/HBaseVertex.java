@@ -1,7 +1,5 @@
 package io.hgraphdb;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import io.hgraphdb.models.VertexIndexModel;
 import io.hgraphdb.models.VertexModel;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -19,14 +17,11 @@ import org.slf4j.LoggerFactory;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 public class HBaseVertex extends HBaseElement implements Vertex {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HBaseVertex.class);
 
-    private transient Cache<Tuple, List<Edge>> edgeCache;
-
     public HBaseVertex(HBaseGraph graph, Object id) {
         this(graph, id, null, null, null, null, false);
     }
@@ -38,13 +33,6 @@ public class HBaseVertex extends HBaseElement implements Vertex {
     public HBaseVertex(HBaseGraph graph, Object id, String label, Long createdAt, Long updatedAt,
                        Map<String, Object> properties, boolean propertiesFullyLoaded) {
         super(graph, id, label, createdAt, updatedAt, properties, propertiesFullyLoaded);
-
-        if (graph != null) {
-            this.edgeCache = CacheBuilder.<Tuple, List<Edge>>newBuilder()
-                    .maximumSize(graph.relationshipCacheMaxSize)
-                    .expireAfterAccess(graph.relationshipCacheTtlSecs, TimeUnit.SECONDS)
-                    .build();
-        }
     }
 
     @Override
@@ -60,18 +48,18 @@ public class HBaseVertex extends HBaseElement implements Vertex {
     }
 
     public Iterator<Edge> getEdgesFromCache(Tuple cacheKey) {
-        if (edgeCache == null || !isCached()) return null;
-        List<Edge> edges = edgeCache.getIfPresent(cacheKey);
-        return edges != null ? IteratorUtils.filter(edges.iterator(), edge -> !((HBaseEdge) edge).isDeleted()) : null;
+        if (graph == null) return null;
+        return graph.getAdjacencyCache().get(id, cacheKey);
     }
 
     public void cacheEdges(Tuple cacheKey, List<Edge> edges) {
-        if (edgeCache == null || !isCached()) return;
-        edgeCache.put(cacheKey, edges);
+        if (graph == null) return;
+        graph.getAdjacencyCache().put(id, cacheKey, edges);
     }
 
     protected void invalidateEdgeCache() {
-        if (edgeCache != null) edgeCache.invalidateAll();
+        if (graph == null) return;
+        graph.getAdjacencyCache().invalidate(id);
     }
 
     @Override
@@ -89,15 +77,7 @@ public class HBaseVertex extends HBaseElement implements Vertex {
         newEdge.writeToModel();
 
         invalidateEdgeCache();
-        if (!isCached()) {
-            HBaseVertex cachedVertex = (HBaseVertex) graph.findVertex(id, false);
-            if (cachedVertex != null) cachedVertex.invalidateEdgeCache();
-        }
         ((HBaseVertex) inVertex).invalidateEdgeCache();
-        if (!((HBaseVertex) inVertex).isCached()) {
-            HBaseVertex cachedInVertex = (HBaseVertex) graph.findVertex(inVertex.id(), false);
-            if (cachedInVertex != null) cachedInVertex.invalidateEdgeCache();
-        }
 
         Edge edge = graph.findOrCreateEdge(idValue);
         ((HBaseEdge) edge).copyFrom(newEdge);
@@ -144,7 +124,7 @@ public class HBaseVertex extends HBaseElement implements Vertex {
 
     @Override
     public <V> Iterator<VertexProperty<V>> properties(final String... propertyKeys) {
-        Iterable<String> keys = getPropertyKeys();
+        Iterable<String> keys = getPropertyKeys(propertyKeys);
         Iterator<String> filter = IteratorUtils.filter(keys.iterator(),
                 key -> ElementHelper.keyExists(key, propertyKeys));
         return IteratorUtils.map(filter,
@@ -156,6 +136,14 @@ public class HBaseVertex extends HBaseElement implements Vertex {
         return graph.getEdgeIndexModel().edges(this, direction, edgeLabels);
     }
 
+    public long countEdges(final Direction direction, final String... edgeLabels) {
+        return graph.getEdgeIndexModel().count(this, direction, edgeLabels);
+    }
+
+    public long countEdges(final Direction direction, final String label, final String key, final Object value) {
+        return graph.getEdgeIndexModel().count(this, direction, label, key, value);
+    }
+
     public Iterator<Edge> edges(final Direction direction, final String label, final String key, final Object value) {
         return graph.getEdgeIndexModel().edges(this, direction, label, key, value);
     }
@@ -165,6 +153,13 @@ public class HBaseVertex extends HBaseElement implements Vertex {
         return graph.getEdgeIndexModel().edgesInRange(this, direction, label, key, inclusiveFromValue, exclusiveToValue);
     }
 
+    public Iterator<Edge> edgesInRange(final Direction direction, final String label, final String key,
+                                       final Object fromValue, final boolean fromInclusive,
+                                       final Object toValue, final boolean toInclusive) {
+        return graph.getEdgeIndexModel().edgesInRange(this, direction, label, key,
+                fromValue, fromInclusive, toValue, toInclusive);
+    }
+
     public Iterator<Edge> edgesWithLimit(final Direction direction, final String label, final String key,
                                          final Object fromValue, final int limit) {
         return edgesWithLimit(direction, label, key, fromValue, limit, false);
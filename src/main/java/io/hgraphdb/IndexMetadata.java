@@ -4,14 +4,21 @@ public class IndexMetadata {
 
     private final Key key;
     private final boolean isUnique;
+    private final int valueBuckets;
     private State state;
     protected final Long createdAt;
     protected Long updatedAt;
 
     public IndexMetadata(ElementType type, String label, String propertyKey,
                          boolean isUnique, State state, Long createdAt, Long updatedAt) {
+        this(type, label, propertyKey, isUnique, 1, state, createdAt, updatedAt);
+    }
+
+    public IndexMetadata(ElementType type, String label, String propertyKey,
+                         boolean isUnique, int valueBuckets, State state, Long createdAt, Long updatedAt) {
         this.key = new Key(type, label, propertyKey);
         this.isUnique = isUnique;
+        this.valueBuckets = valueBuckets;
         this.state = state;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -37,6 +44,15 @@ public class IndexMetadata {
         return isUnique;
     }
 
+    /**
+     * The number of consecutive salt buckets that the entries of a vertex index are spread
+     * over by value, or by value and vertex id if the index is not unique.  An index with
+     * one bucket keeps all its entries under the salt of the index.
+     */
+    public int valueBuckets() {
+        return valueBuckets;
+    }
+
     public State state() {
         return state;
     }
@@ -0,0 +1,153 @@
+package io.hgraphdb;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Answers lookups of vertex ids that are known not to exist without a round trip to the
+ * vertex table.  Ids that were looked up and not found are kept for a while in a bounded
+ * negative cache.  Optionally, a Bloom filter of all vertex ids, built from a key-only
+ * scan of the vertex table, rules out ids that were never written.
+ *
+ * <p>Vertices added by this graph are removed from the negative cache and added to the
+ * filter, but vertices added by other clients are only seen once the negative entries
+ * expire and the filter is rebuilt.  Until the filter is first built, it rules out nothing.
+ */
+public class NegativeVertexCache {
+
+    private final Cache<ByteBuffer, Boolean> missing;
+    private final long filterExpectedSize;
+    private final double filterFpp;
+    // swapped as a whole on rebuild, so that lookups need no lock
+    private volatile IdFilter filter;
+    // the filter being rebuilt, which also receives the ids added during its scan
+    private volatile IdFilter building;
+    private final Object rebuildLock = new Object();
+
+    public NegativeVertexCache(long maxSize, long ttlSecs, long filterExpectedSize, double filterFpp) {
+        this.missing = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSecs, TimeUnit.SECONDS)
+                .build();
+        this.filterExpectedSize = filterExpectedSize;
+        this.filterFpp = filterFpp;
+    }
+
+    /**
+     * Whether the vertex with the given id is known not to exist.
+     */
+    public boolean isMissing(Object id) {
+        byte[] idBytes = ValueUtils.serialize(id);
+        if (missing.getIfPresent(ByteBuffer.wrap(idBytes)) != null) return true;
+        IdFilter current = filter;
+        return current != null && !current.mightContain(idBytes);
+    }
+
+    /**
+     * Record that the vertex with the given id was not found.
+     */
+    public void recordMissing(Object id) {
+        missing.put(ByteBuffer.wrap(ValueUtils.serialize(id)), Boolean.TRUE);
+    }
+
+    /**
+     * Record that the vertex with the given id was written.
+     */
+    public void recordAdded(Object id) {
+        byte[] idBytes = ValueUtils.serialize(id);
+        missing.invalidate(ByteBuffer.wrap(idBytes));
+        IdFilter current = filter;
+        if (current != null) current.put(idBytes);
+        // a rebuild that starts after this point scans the written row
+        IdFilter next = building;
+        if (next != null) next.put(idBytes);
+    }
+
+    /**
+     * Replace the filter with one built from the given ids, such as those of a key-only
+     * scan of the vertex table.  Ids added during the scan are added to the new filter.
+     *
+     * @param scan Starts a scan of the serialized ids of all vertices
+     */
+    public void rebuildFilter(Supplier<Iterator<byte[]>> scan) {
+        synchronized (rebuildLock) {
+            IdFilter newFilter = new IdFilter(filterExpectedSize, filterFpp);
+            building = newFilter;
+            try {
+                Iterator<byte[]> ids = scan.get();
+                while (ids.hasNext()) {
+                    newFilter.put(ids.next());
+                }
+                filter = newFilter;
+            } finally {
+                building = null;
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        missing.invalidateAll();
+        filter = null;
+    }
+
+    /**
+     * A Bloom filter whose bits are set with compare-and-set, so that ids can be added
+     * while it is being read.
+     */
+    private static class IdFilter {
+
+        private static final HashFunction HASH = Hashing.murmur3_128();
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        IdFilter(long expectedSize, double fpp) {
+            long n = Math.max(1, expectedSize);
+            long m = Math.max(64, (long) (-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(byte[] id) {
+            ByteBuffer hash = hash(id);
+            long h1 = hash.getLong();
+            long h2 = hash.getLong();
+            for (int i = 0; i < hashCount; i++) {
+                long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long value;
+                do {
+                    value = bits.get(word);
+                } while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask));
+            }
+        }
+
+        boolean mightContain(byte[] id) {
+            ByteBuffer hash = hash(id);
+            long h1 = hash.getLong();
+            long h2 = hash.getLong();
+            for (int i = 0; i < hashCount; i++) {
+                long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) return false;
+            }
+            return true;
+        }
+
+        private static ByteBuffer hash(byte[] id) {
+            return ByteBuffer.wrap(HASH.hashBytes(id).asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
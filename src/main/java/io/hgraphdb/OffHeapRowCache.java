@@ -0,0 +1,282 @@
+package io.hgraphdb;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.Weigher;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A second tier of the element caches, which holds the raw cells of element rows in direct
+ * memory rather than as element objects on the heap.  Elements that have left the element
+ * cache are loaded again from here before falling back to a Get.  Only complete rows are
+ * cached, and the cache is bounded by the number of bytes of the rows.
+ *
+ * <p>Rows are copied into blocks of power-of-two sizes, which are carved out of slabs of
+ * direct memory as they are needed, up to the capacity.  The block of an evicted row goes
+ * back to the free blocks of its size, so no direct memory is left for the garbage
+ * collector to free.  Rows larger than the largest block, or for which no block is free,
+ * are not cached.
+ *
+ * <p>A load must read the {@link #generation} of a row before its Get, and pass it to
+ * {@link #put}, so that a row read before a write cannot be cached after the write has
+ * invalidated it.
+ */
+public class OffHeapRowCache {
+
+    private static final int MIN_BLOCK_SIZE = 64;
+    private static final int MAX_BLOCK_SIZE = 64 * 1024;
+    private static final int SLAB_SIZE = 1024 * 1024;
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final Cache<ByteBuffer, Block> cache;
+    private final long maxBytes;
+    private final int slabSize;
+    private final int maxBlockSize;
+    private final Queue<Block>[] freeBlocks;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @SuppressWarnings("unchecked")
+    public OffHeapRowCache(long maxBytes, long ttlSecs) {
+        this.maxBytes = maxBytes;
+        this.slabSize = (int) Math.max(MIN_BLOCK_SIZE, Long.highestOneBit(Math.min(SLAB_SIZE, maxBytes)));
+        this.maxBlockSize = Math.min(MAX_BLOCK_SIZE, slabSize);
+        this.freeBlocks = new Queue[sizeClass(maxBlockSize) + 1];
+        for (int i = 0; i < freeBlocks.length; i++) {
+            freeBlocks[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Weigher<ByteBuffer, Block>) (row, block) -> row.remaining() + block.capacity)
+                .expireAfterAccess(ttlSecs, TimeUnit.SECONDS)
+                .removalListener((RemovalListener<ByteBuffer, Block>) notification -> free(notification.getValue()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The cached row with the given key, or null if it is not cached.
+     */
+    public Result get(byte[] row) {
+        Block block = cache.getIfPresent(ByteBuffer.wrap(row));
+        return block != null ? block.read(row) : null;
+    }
+
+    /**
+     * The generation of the row with the given key, which changes whenever the row is
+     * invalidated.
+     */
+    public long generation(byte[] row) {
+        return generations.get(stripe(row));
+    }
+
+    /**
+     * Cache the given complete row, unless it has been invalidated since the given
+     * generation was read.  Empty rows are not cached.
+     */
+    public void put(Result result, long generation) {
+        if (result == null || result.isEmpty()) return;
+        byte[] row = result.getRow();
+        if (generation(row) != generation) return;
+        Cell[] cells = result.rawCells();
+        Block block = allocate(serializedSize(cells));
+        if (block == null) return;
+        block.write(row, cells);
+        ByteBuffer key = ByteBuffer.wrap(row);
+        cache.put(key, block);
+        // the row may have been invalidated between the check above and the put
+        if (generation(row) != generation) cache.invalidate(key);
+    }
+
+    public void invalidate(byte[] row) {
+        generations.incrementAndGet(stripe(row));
+        cache.invalidate(ByteBuffer.wrap(row));
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * The number of bytes of direct memory allocated for slabs.
+     */
+    public long allocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    private static int stripe(byte[] row) {
+        return (Arrays.hashCode(row) & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    private static int sizeClass(int size) {
+        int blockSize = Math.max(MIN_BLOCK_SIZE, Integer.highestOneBit(size - 1) << 1);
+        return Integer.numberOfTrailingZeros(blockSize) - Integer.numberOfTrailingZeros(MIN_BLOCK_SIZE);
+    }
+
+    private Block allocate(int size) {
+        if (size > maxBlockSize) return null;
+        int sizeClass = sizeClass(size);
+        Block block = freeBlocks[sizeClass].poll();
+        while (block == null && addSlab(sizeClass)) {
+            block = freeBlocks[sizeClass].poll();
+        }
+        return block;
+    }
+
+    private boolean addSlab(int sizeClass) {
+        long allocated;
+        do {
+            allocated = allocatedBytes.get();
+            if (allocated + slabSize > maxBytes) return false;
+        } while (!allocatedBytes.compareAndSet(allocated, allocated + slabSize));
+        Slab slab = new Slab(ByteBuffer.allocateDirect(slabSize));
+        int blockSize = MIN_BLOCK_SIZE << sizeClass;
+        for (int offset = 0; offset + blockSize <= slabSize; offset += blockSize) {
+            freeBlocks[sizeClass].add(new Block(slab, offset, blockSize, sizeClass));
+        }
+        return true;
+    }
+
+    private void free(Block block) {
+        if (block != null) {
+            block.release();
+            freeBlocks[block.sizeClass].add(block);
+        }
+    }
+
+    private static int serializedSize(Cell[] cells) {
+        int size = Integer.BYTES;
+        for (Cell cell : cells) {
+            size += 1 + cell.getFamilyLength() + Integer.BYTES + cell.getQualifierLength()
+                    + Long.BYTES + Integer.BYTES + cell.getValueLength();
+        }
+        return size;
+    }
+
+    private static class Slab {
+
+        private final ByteBuffer buffer;
+        // readers copy rows out optimistically, and retry with a Get if a block was reused meanwhile
+        private final StampedLock lock = new StampedLock();
+
+        Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    private static class Block {
+
+        private final Slab slab;
+        private final int offset;
+        private final int capacity;
+        private final int sizeClass;
+        private int length;
+        // the row held by this block, as a block may be reused for another row between the
+        // lookup of a row and the read of its block
+        private byte[] owner;
+
+        Block(Slab slab, int offset, int capacity, int sizeClass) {
+            this.slab = slab;
+            this.offset = offset;
+            this.capacity = capacity;
+            this.sizeClass = sizeClass;
+        }
+
+        void write(byte[] row, Cell[] cells) {
+            long stamp = slab.lock.writeLock();
+            try {
+                owner = row;
+                ByteBuffer buffer = slab.buffer.duplicate();
+                buffer.position(offset);
+                buffer.putInt(cells.length);
+                for (Cell cell : cells) {
+                    buffer.put(cell.getFamilyLength());
+                    buffer.put(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength());
+                    buffer.putInt(cell.getQualifierLength());
+                    buffer.put(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+                    buffer.putLong(cell.getTimestamp());
+                    buffer.putInt(cell.getValueLength());
+                    buffer.put(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+                }
+                length = buffer.position() - offset;
+            } finally {
+                slab.lock.unlockWrite(stamp);
+            }
+        }
+
+        void release() {
+            long stamp = slab.lock.writeLock();
+            try {
+                owner = null;
+            } finally {
+                slab.lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * The given row held by this block, or null if the block was freed or reused, either
+         * before or while it was being read.
+         */
+        Result read(byte[] row) {
+            long stamp = slab.lock.tryOptimisticRead();
+            try {
+                if (!Arrays.equals(owner, row)) return null;
+                ByteBuffer buffer = slab.buffer.duplicate();
+                buffer.limit(offset + Math.min(length, capacity));
+                buffer.position(offset);
+                Result result = deserialize(row, buffer);
+                return slab.lock.validate(stamp) ? result : null;
+            } catch (RuntimeException e) {
+                // the contents of a reused block may not parse
+                if (slab.lock.validate(stamp)) throw e;
+                return null;
+            }
+        }
+    }
+
+    private static Result deserialize(byte[] row, ByteBuffer buffer) {
+        int count = checkLength(buffer.getInt(), buffer);
+        List<Cell> cells = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] family = new byte[buffer.get() & 0xff];
+            buffer.get(family);
+            byte[] qualifier = new byte[checkLength(buffer.getInt(), buffer)];
+            buffer.get(qualifier);
+            long ts = buffer.getLong();
+            byte[] value = new byte[checkLength(buffer.getInt(), buffer)];
+            buffer.get(value);
+            cells.add(CellUtil.createCell(row, family, qualifier, ts, KeyValue.Type.Put.getCode(), value));
+        }
+        return Result.create(cells);
+    }
+
+    private static int checkLength(int length, ByteBuffer buffer) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Invalid length in cached row: " + length);
+        }
+        return length;
+    }
+}
@@ -266,9 +266,30 @@ public final class ValueUtils {
         }
     }
 
+    /**
+     * Returns the serialized type code of the given value, which is a prefix
+     * of the serialized form of every value of the same type.
+     *
+     * @param o the value
+     * @return the type prefix
+     */
+    public static byte[] serializeType(Object o) {
+        PositionedByteRange buffer = new DynamicPositionedMutableByteRange(16);
+        OrderedBytes.encodeInt8(buffer, getValueType(o).getCode(), Order.ASCENDING);
+        buffer.setLength(buffer.getPosition());
+        buffer.setPosition(0);
+        byte[] bytes = new byte[buffer.getRemaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
     public static byte[] serializeWithSalt(Object o) {
+        return serializeWithSalt(o, DEFAULT_NUM_BUCKETS);
+    }
+
+    public static byte[] serializeWithSalt(Object o, int numBuckets) {
         PositionedByteRange buffer = new DynamicPositionedMutableByteRange(4096);
-        serializeWithSalt(buffer, o);
+        serializeWithSalt(buffer, o, numBuckets);
         buffer.setLength(buffer.getPosition());
         buffer.setPosition(0);
         byte[] bytes = new byte[buffer.getRemaining()];
@@ -277,12 +298,20 @@ public final class ValueUtils {
     }
 
     public static void serializeWithSalt(PositionedByteRange buffer, Object o) {
+        serializeWithSalt(buffer, o, DEFAULT_NUM_BUCKETS);
+    }
+
+    public static void serializeWithSalt(PositionedByteRange buffer, Object o, int numBuckets) {
         byte[] bytes = serialize(o);
-        serializeWithSalt(buffer, bytes);
+        serializeWithSalt(buffer, bytes, numBuckets);
     }
 
     public static void serializeWithSalt(PositionedByteRange buffer, byte[] bytes) {
-        byte saltingByte = getSaltingByte(bytes);
+        serializeWithSalt(buffer, bytes, DEFAULT_NUM_BUCKETS);
+    }
+
+    public static void serializeWithSalt(PositionedByteRange buffer, byte[] bytes, int numBuckets) {
+        byte saltingByte = getSaltingByte(bytes, numBuckets);
         buffer.put(saltingByte);
         buffer.put(bytes);
     }
@@ -294,8 +323,20 @@ public final class ValueUtils {
      * @return the salt to prepend to {@code value}
      */
     public static byte getSaltingByte(byte[] value) {
+        return getSaltingByte(value, DEFAULT_NUM_BUCKETS);
+    }
+
+    /**
+     * Returns the salt for a given value, which is one of {@code numBuckets} buckets.
+     *
+     * @param value the value
+     * @param numBuckets the number of salt buckets, at most {@link #DEFAULT_NUM_BUCKETS}
+     * @return the salt to prepend to {@code value}
+     */
+    public static byte getSaltingByte(byte[] value, int numBuckets) {
         int hash = calculateHashCode(value);
-        return (byte) (Math.abs(hash) % DEFAULT_NUM_BUCKETS);
+        // same as Math.abs(hash) % numBuckets, but never negative
+        return (byte) Math.abs(hash % numBuckets);
     }
 
     private static int calculateHashCode(byte a[]) {
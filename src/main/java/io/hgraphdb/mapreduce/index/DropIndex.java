@@ -59,11 +59,7 @@ public class DropIndex extends IndexTool {
             return new Scan();
         } else {
             // optimization for vertex index scans
-            byte[] startRow = graph.getVertexIndexModel().serializeForRead(
-                    index.label(), index.isUnique(), index.propertyKey(), null);
-            Scan scan = new Scan(startRow);
-            scan.setRowPrefixFilter(startRow);
-            return scan;
+            return graph.getVertexIndexModel().getVertexIndexScan(index);
         }
     }
 
@@ -1,23 +1,46 @@
 package io.hgraphdb.models;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.hgraphdb.CloseableIteratorUtils;
 import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.HBaseGraphConfiguration;
 import io.hgraphdb.HBaseGraphException;
+import io.hgraphdb.mutators.GroupCommitWriter;
+import io.hgraphdb.util.ParallelResultScanner;
+import io.hgraphdb.util.ReadAheadIterator;
+import io.hgraphdb.util.ReadAheadResultScanner;
+import io.hgraphdb.util.ScanSizer;
 import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 public abstract class BaseModel implements AutoCloseable {
 
     protected final HBaseGraph graph;
     protected final Table table;
+    protected final GroupCommitWriter groupCommit;
 
     public BaseModel(HBaseGraph graph, Table table) {
         this.graph = graph;
         this.table = table;
+        HBaseGraphConfiguration config = graph.configuration();
+        this.groupCommit = config.getGroupCommitWindowMicros() > 0
+                ? new GroupCommitWriter(table, config.getGroupCommitWindowMicros(), config.getGroupCommitMaxBatchSize())
+                : null;
     }
 
     public HBaseGraph getGraph() {
@@ -28,10 +51,158 @@ public abstract class BaseModel implements AutoCloseable {
         return table;
     }
 
+    /**
+     * The writer that gathers concurrent writes to the table of this model, or null if
+     * group commit is disabled.
+     */
+    public GroupCommitWriter getGroupCommit() {
+        return groupCommit;
+    }
+
     public void close() {
         close(false);
     }
 
+    /**
+     * Count the rows matched by the given scan, returning only their keys.
+     *
+     * @param scan The scan
+     * @return The number of rows
+     */
+    protected long countRows(Scan scan) {
+        Filter filter = scan.getFilter();
+        scan.setFilter(filter != null ? new FilterList(filter, new KeyOnlyFilter()) : new KeyOnlyFilter());
+        scan.setCacheBlocks(false);
+        long count = 0;
+        try (ResultScanner scanner = getScanner(scan)) {
+            for (Result ignored : scanner) {
+                count++;
+            }
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+        return count;
+    }
+
+    /**
+     * Count the current elements of the rows matched by the given scan.  The rows are parsed
+     * into elements, which are passed to the counter in pages of the load batch size, so that
+     * the counter can verify a whole page with one multi-get.
+     *
+     * @param scan    The scan
+     * @param kind    The kind of query the scan serves
+     * @param parser  The parser of the rows
+     * @param counter The counter of the current elements of a page
+     * @return The number of current elements
+     */
+    protected <E> long countElements(Scan scan, ScanSizer.Kind kind, Function<Result, E> parser,
+                                     ToIntFunction<List<E>> counter) {
+        long count = 0;
+        try (ResultScanner scanner = getOrderedScanner(scan, kind, 0)) {
+            Iterator<List<Result>> pages = CloseableIteratorUtils.batch(scanner.iterator(),
+                    graph.configuration().getLoadBatchSize());
+            while (pages.hasNext()) {
+                List<Result> page = pages.next();
+                List<E> elements = new ArrayList<>(page.size());
+                for (Result result : page) {
+                    elements.add(parser.apply(result));
+                }
+                count += counter.applyAsInt(elements);
+            }
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+        return count;
+    }
+
+    /**
+     * Open a scanner for the given scan.  If a scan parallelism is configured, the salt
+     * ranges of the table are scanned in parallel, and results are not in key order.
+     *
+     * @param scan The scan
+     * @return The scanner
+     */
+    protected ResultScanner getScanner(Scan scan) throws IOException {
+        int parallelism = graph.configuration().getScanParallelism();
+        if (parallelism <= 1 || scan.isReversed()) {
+            return readAhead(table.getScanner(scan));
+        }
+        return new ParallelResultScanner(graph.connection(), table.getName(), scan,
+                graph.getSaltBuckets(), parallelism, graph.getScannerLeaseMillis(), graph.getScanExecutor());
+    }
+
+    /**
+     * Open a scanner for the given scan, which may be split into parallel scans as above.
+     * The scan is sized for the given kind of query, if scan sizing is enabled.
+     *
+     * @param scan The scan
+     * @param kind The kind of query the scan serves
+     * @return The scanner
+     */
+    protected ResultScanner getScanner(Scan scan, ScanSizer.Kind kind) throws IOException {
+        return observe(getScanner(size(scan, kind, 0)), kind);
+    }
+
+    /**
+     * Open a scanner for the given scan that returns results in key order.  The scan is
+     * sized for the given kind of query and number of results, if scan sizing is enabled.
+     *
+     * @param scan  The scan
+     * @param kind  The kind of query the scan serves
+     * @param limit The number of results requested, or 0 if unbounded
+     * @return The scanner
+     */
+    protected ResultScanner getOrderedScanner(Scan scan, ScanSizer.Kind kind, int limit) throws IOException {
+        return observe(readAhead(table.getScanner(size(scan, kind, limit))), kind);
+    }
+
+    protected Scan size(Scan scan, ScanSizer.Kind kind, int limit) {
+        ScanSizer sizer = graph.getScanSizer();
+        return sizer != null ? sizer.size(scan, kind, limit) : scan;
+    }
+
+    protected ResultScanner observe(ResultScanner scanner, ScanSizer.Kind kind) {
+        ScanSizer sizer = graph.getScanSizer();
+        return sizer != null ? sizer.observe(scanner, kind) : scanner;
+    }
+
+    /**
+     * Wrap the given scanner to fetch pages of results ahead of its consumer, if configured
+     * and a scan thread is free.
+     *
+     * @param scanner The scanner
+     * @return The scanner, or one that reads ahead of it
+     */
+    protected ResultScanner readAhead(ResultScanner scanner) {
+        HBaseGraphConfiguration config = graph.configuration();
+        if (config.getScanReadAheadPages() <= 0) return scanner;
+        try {
+            return new ReadAheadResultScanner(scanner, config.getLoadBatchSize(),
+                    config.getScanReadAheadPages(), graph.getScannerLeaseMillis(), graph.getScanExecutor());
+        } catch (RejectedExecutionException e) {
+            return scanner;
+        }
+    }
+
+    /**
+     * Wrap the given iterator over the elements of an index scan to load the elements
+     * ahead of its consumer, if configured and a scan thread is free.
+     *
+     * @param elements The elements
+     * @return The elements, or an iterator that reads ahead of them
+     */
+    protected <E> Iterator<E> hydrateAhead(Iterator<E> elements) {
+        HBaseGraphConfiguration config = graph.configuration();
+        if (config.getScanReadAheadPages() <= 0 || !config.getScanReadAheadHydrate()) return elements;
+        try {
+            return new ReadAheadIterator<>(elements, () -> CloseableIterator.closeIterator(elements),
+                    config.getLoadBatchSize(), config.getScanReadAheadPages(), graph.getScannerLeaseMillis(),
+                    graph.getScanExecutor());
+        } catch (RejectedExecutionException e) {
+            return elements;
+        }
+    }
+
     @VisibleForTesting
     public void close(boolean clear) {
         if (clear) clear();
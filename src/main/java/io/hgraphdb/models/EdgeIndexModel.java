@@ -7,6 +7,7 @@ import io.hgraphdb.mutators.Mutator;
 import io.hgraphdb.mutators.Mutators;
 import io.hgraphdb.readers.EdgeIndexReader;
 import io.hgraphdb.util.DynamicPositionedMutableByteRange;
+import io.hgraphdb.util.ScanSizer;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.HConstants;
@@ -29,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -36,8 +38,11 @@ public class EdgeIndexModel extends BaseModel {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EdgeIndexModel.class);
 
+    private final int loadBatchSize;
+
     public EdgeIndexModel(HBaseGraph graph, Table table) {
         super(graph, table);
+        this.loadBatchSize = graph.configuration().getLoadBatchSize();
     }
 
     public void writeEdgeEndpoints(Edge edge) {
@@ -46,24 +51,24 @@ public class EdgeIndexModel extends BaseModel {
         Iterator<IndexMetadata> indices = ((HBaseEdge) edge).getIndices(OperationType.WRITE);
         EdgeIndexWriter indexWriter = new EdgeIndexWriter(graph, edge, indices, now);
         EdgeIndexWriter writer = new EdgeIndexWriter(graph, edge, Constants.CREATED_AT, now);
-        Mutators.create(table, indexWriter, writer);
+        Mutators.create(table, groupCommit, indexWriter, writer);
     }
 
     public void writeEdgeIndex(Edge edge, String key) {
         EdgeIndexWriter indexWriter = new EdgeIndexWriter(graph, edge, key);
-        Mutators.create(table, indexWriter);
+        Mutators.create(table, groupCommit, indexWriter);
     }
 
     public void deleteEdgeEndpoints(Edge edge, Long ts) {
         Iterator<IndexMetadata> indices = ((HBaseEdge) edge).getIndices(OperationType.WRITE);
         EdgeIndexRemover indexWriter = new EdgeIndexRemover(graph, edge, indices, ts);
         Mutator writer = new EdgeIndexRemover(graph, edge, Constants.CREATED_AT, ts);
-        Mutators.write(table, writer, indexWriter);
+        Mutators.write(table, groupCommit, writer, indexWriter);
     }
 
     public void deleteEdgeIndex(Edge edge, String key, Long ts) {
         Mutator writer = new EdgeIndexRemover(graph, edge, key, ts);
-        Mutators.write(table, writer);
+        Mutators.write(table, groupCommit, writer);
     }
 
     public Iterator<Edge> edges(HBaseVertex vertex, Direction direction, String... labels) {
@@ -84,7 +89,130 @@ public class EdgeIndexModel extends BaseModel {
                 : null;
         return performEdgesScan(vertex, scan, cacheKey, false, filter);
         */
-        return performEdgesScan(vertex, scan, cacheKey, false, null);
+        return performEdgesScan(vertex, scan, cacheKey, false, null, false, ScanSizer.Kind.ADJACENCY, 0);
+    }
+
+    /**
+     * Fetch the edges of several vertices with a single scan over their adjacency prefixes.
+     * Vertices whose edges are already cached are served from the cache.
+     *
+     * @param vertices  The vertices
+     * @param direction The direction of the edges
+     * @param labels    The edge labels, or none for all labels
+     * @return The edges of each vertex, keyed by vertex id, in the order a scan per vertex would return them
+     */
+    public Map<Object, List<Edge>> edges(List<HBaseVertex> vertices, Direction direction, String... labels) {
+        Tuple cacheKey = labels.length > 0
+                ? new Pair<>(direction, Arrays.asList(labels)) : new Unit<>(direction);
+        Map<Object, List<Edge>> result = new HashMap<>();
+        Map<Object, HBaseVertex> misses = new LinkedHashMap<>();
+        for (HBaseVertex vertex : vertices) {
+            if (result.containsKey(vertex.id())) continue;
+            Iterator<Edge> edges = vertex.getEdgesFromCache(cacheKey);
+            if (edges != null) {
+                result.put(vertex.id(), IteratorUtils.list(edges));
+                misses.remove(vertex.id());
+            } else {
+                misses.putIfAbsent(vertex.id(), vertex);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+        LOGGER.trace("Executing Scan, type: {}, size: {}", "multi-key", misses.size());
+
+        for (Object id : misses.keySet()) {
+            result.put(id, new ArrayList<>());
+        }
+        final EdgeIndexReader parser = new EdgeIndexReader(graph);
+        try (ResultScanner scanner = getOrderedScanner(
+                getEdgeEndpointsScan(misses.values(), direction, labels), ScanSizer.Kind.ADJACENCY, 0)) {
+            // parse, load and hand out the rows one load batch at a time, as they are scanned
+            Iterator<List<Result>> pages = CloseableIteratorUtils.batch(scanner.iterator(), loadBatchSize);
+            while (pages.hasNext()) {
+                List<Result> page = pages.next();
+                List<HBaseEdge> edges = new ArrayList<>(page.size());
+                for (Result r : page) {
+                    edges.add((HBaseEdge) parser.parse(r));
+                }
+                Set<HBaseEdge> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+                if (!graph.isLazyLoading()) {
+                    graph.getEdgeModel().loadIfNeeded(edges, notFound::add);
+                }
+                for (int i = 0; i < edges.size(); i++) {
+                    HBaseEdge edge = edges.get(i);
+                    if (notFound.contains(edge)) {
+                        edge.removeStaleIndex();
+                    } else {
+                        // the row key starts with the id of the vertex being expanded
+                        result.get(ValueUtils.deserializeWithSalt(page.get(i).getRow())).add(edge);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+        for (HBaseVertex vertex : misses.values()) {
+            vertex.cacheEdges(cacheKey, result.get(vertex.id()));
+        }
+        return result;
+    }
+
+    /**
+     * Count the edges of a vertex from its adjacency rows, without loading whole edges.
+     * Unless loading is lazy, the rows are verified as the reads do, by loading only the
+     * label of each edge, so that the rows of removed edges are not counted.
+     *
+     * @param vertex    The vertex
+     * @param direction The direction of the edges
+     * @param labels    The edge labels, or none for all labels
+     * @return The number of edges
+     */
+    public long count(HBaseVertex vertex, Direction direction, String... labels) {
+        Scan scan = getEdgeEndpointsScan(Collections.singletonList(vertex), direction, labels);
+        // lazy reads do not verify the rows either
+        if (graph.isLazyLoading()) return countRows(scan);
+        EdgeIndexReader parser = new EdgeIndexReader(graph);
+        return countElements(scan, ScanSizer.Kind.ADJACENCY, result -> (HBaseEdge) parser.parse(result), edges -> {
+            Set<HBaseEdge> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+            graph.getEdgeModel().loadIfNeeded(edges, notFound::add, Collections.emptySet());
+            return edges.size() - notFound.size();
+        });
+    }
+
+    /**
+     * Count the edges of a vertex with the given value, using the edge index if there is one.
+     * Unless loading is lazy, each index entry is verified as the reads do, by loading only
+     * the key of its edge, so that stale entries are not counted.
+     */
+    public long count(HBaseVertex vertex, Direction direction, String label, String key, Object value) {
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
+        if (index == null || key.equals(Constants.CREATED_AT) || direction == Direction.BOTH) {
+            return IteratorUtils.count(edges(vertex, direction, label, key, value));
+        }
+        LOGGER.debug("Using edge index for ({}, {})", label, key);
+        Scan scan = getEdgesScan(vertex, direction, index.isUnique(), key, label, value);
+        // lazy reads do not verify the entries either
+        if (graph.isLazyLoading()) return countRows(scan);
+        byte[] valueBytes = ValueUtils.serialize(value);
+        Set<String> propertyKeys = Collections.singleton(key);
+        EdgeIndexReader parser = new EdgeIndexReader(graph);
+        return countElements(scan, ScanSizer.Kind.INDEX_EQ, result -> (HBaseEdge) parser.parse(result), edges -> {
+            Set<HBaseEdge> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+            graph.getEdgeModel().loadIfNeeded(edges, notFound::add, propertyKeys);
+            int current = 0;
+            for (HBaseEdge edge : edges) {
+                try {
+                    if (!notFound.contains(edge)
+                            && Bytes.equals(ValueUtils.serialize(edge.getProperty(key)), valueBytes)) {
+                        current++;
+                    }
+                } catch (final HBaseGraphNotFoundException e) {
+                    // removed since it was loaded
+                }
+            }
+            return current;
+        });
     }
 
     public Iterator<Edge> edges(HBaseVertex vertex, Direction direction, String label,
@@ -107,7 +235,8 @@ public class EdgeIndexModel extends BaseModel {
             byte[] propValueBytes = ValueUtils.serialize(edge.getProperty(key));
             return Bytes.compareTo(propValueBytes, valueBytes) == 0;
         };
-        return performEdgesScan(vertex, scan, cacheKey, useIndex, filter);
+        return performEdgesScan(vertex, scan, cacheKey, useIndex, filter, false,
+                useIndex ? ScanSizer.Kind.INDEX_EQ : ScanSizer.Kind.ADJACENCY, 0);
     }
 
     public Iterator<Edge> edgesInRange(HBaseVertex vertex, Direction direction, String label,
@@ -132,9 +261,58 @@ public class EdgeIndexModel extends BaseModel {
             return Bytes.compareTo(propValueBytes, fromBytes) >= 0
                     && Bytes.compareTo(propValueBytes, toBytes) < 0;
         };
-        return performEdgesScan(vertex, scan, cacheKey, useIndex, filter);
+        return performEdgesScan(vertex, scan, cacheKey, useIndex, filter, false,
+                useIndex ? ScanSizer.Kind.INDEX_RANGE : ScanSizer.Kind.ADJACENCY, 0);
+    }
+
+    /**
+     * Find the edges whose value lies within the given bounds.  A null bound is open,
+     * in which case the range is limited to values of the same type as the other bound.
+     */
+    public Iterator<Edge> edgesInRange(HBaseVertex vertex, Direction direction, String label, String key,
+                                       Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        byte[] typeBytes = ValueUtils.serializeType(from != null ? from : to);
+        byte[] fromBytes = from != null ? ValueUtils.serialize(from) : HConstants.EMPTY_BYTE_ARRAY;
+        byte[] toBytes = to != null ? ValueUtils.serialize(to) : HConstants.EMPTY_BYTE_ARRAY;
+        Tuple cacheKey = new Septet<>(direction, label, key,
+                ByteBuffer.wrap(fromBytes), fromInclusive, ByteBuffer.wrap(toBytes), toInclusive);
+        Iterator<Edge> edges = vertex.getEdgesFromCache(cacheKey);
+        if (edges != null) {
+            return edges;
+        }
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
+        final boolean useIndex = !key.equals(Constants.CREATED_AT) && index != null;
+        if (useIndex) {
+            LOGGER.debug("Using edge index for ({}, {})", label, key);
+        }
+        Scan scan = useIndex
+                ? getEdgesScanInRange(vertex, direction, index.isUnique(), key, label, from, fromInclusive, to, toInclusive)
+                : getEdgeEndpointsScan(vertex, direction, label);
+        if (Bytes.compareTo(scan.getStartRow(), scan.getStopRow()) >= 0 && scan.getStopRow().length > 0) {
+            return Collections.emptyIterator();
+        }
+        Predicate<HBaseEdge> filter = edge -> {
+            byte[] propValueBytes = ValueUtils.serialize(edge.getProperty(key));
+            if (!Bytes.startsWith(propValueBytes, typeBytes)) return false;
+            if (from != null) {
+                int compare = Bytes.compareTo(propValueBytes, fromBytes);
+                if (fromInclusive ? compare < 0 : compare <= 0) return false;
+            }
+            if (to != null) {
+                int compare = Bytes.compareTo(propValueBytes, toBytes);
+                if (toInclusive ? compare > 0 : compare >= 0) return false;
+            }
+            return true;
+        };
+        return performEdgesScan(vertex, scan, cacheKey, useIndex, filter, false,
+                useIndex ? ScanSizer.Kind.INDEX_RANGE : ScanSizer.Kind.ADJACENCY, 0);
     }
 
+    /**
+     * Scan the edge index of a vertex for the first edges in the order of their values.
+     * Entries whose edge no longer exists or no longer has the value of the entry are
+     * skipped, so the scan continues past the limit until enough current entries are found.
+     */
     public Iterator<Edge> edgesWithLimit(HBaseVertex vertex, Direction direction, String label,
                                          String key, Object fromValue, int limit, boolean reversed) {
         byte[] fromBytes = fromValue != null ? ValueUtils.serialize(fromValue) : HConstants.EMPTY_BYTE_ARRAY;
@@ -150,93 +328,202 @@ public class EdgeIndexModel extends BaseModel {
         } else {
             throw new HBaseGraphNotValidException("Method edgesWithLimit requires an index be defined");
         }
-        Scan scan = getEdgesScanWithLimit(vertex, direction, index.isUnique(), key, label, fromValue, limit, reversed);
+        Scan scan = getEdgesScanWithLimit(vertex, direction, index.isUnique(), key, label, fromValue, reversed);
         return CloseableIteratorUtils.limit(performEdgesScan(vertex, scan, cacheKey, useIndex, edge -> {
             if (fromBytes == HConstants.EMPTY_BYTE_ARRAY) return true;
             byte[] propValueBytes = ValueUtils.serialize(edge.getProperty(key));
             int compare = Bytes.compareTo(propValueBytes, fromBytes);
             return reversed ? compare <= 0 : compare >= 0;
-        }), limit);
+        }, true, ScanSizer.Kind.INDEX_RANGE, (int) Math.min(Integer.MAX_VALUE, 2L * limit)), limit);
     }
 
+    /**
+     * Load the edges of the rows returned by the given scan, in batches, dropping those that
+     * do not pass the filter.  If {@code verify} is set, the edges are loaded even if loading
+     * is lazy, and those whose current value differs from the value of their index entry are
+     * dropped as well.
+     */
     @SuppressWarnings("unchecked")
     private Iterator<Edge> performEdgesScan(HBaseVertex vertex, Scan scan, Tuple cacheKey,
-                                            boolean useIndex, Predicate<HBaseEdge> filter) {
-        List<Edge> cached = new ArrayList<>();
+                                            boolean useIndex, Predicate<HBaseEdge> filter, boolean verify,
+                                            ScanSizer.Kind kind, int limit) {
+        // collect the edges for the adjacency cache until there are too many to cache
+        int maxEntryEdges = graph.getAdjacencyCache().getMaxEntryEdges();
+        AtomicReference<List<Edge>> cached = new AtomicReference<>(new ArrayList<>());
         final EdgeIndexReader parser = new EdgeIndexReader(graph);
         ResultScanner scanner;
         try {
-            scanner = table.getScanner(scan);
+            scanner = getOrderedScanner(scan, kind, limit);
             Iterator<Edge> iterator = CloseableIteratorUtils.flatMap(
-                    CloseableIteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT)),
-                    result -> {
-                        if (result == Result.EMPTY_RESULT) {
-                            vertex.cacheEdges(cacheKey, cached);
-                            scanner.close();
-                            return Collections.emptyIterator();
-                        }
-                        HBaseEdge edge = (HBaseEdge) parser.parse(result);
-                        try {
-                            boolean isLazy = graph.isLazyLoading();
-                            if (!isLazy) edge.load();
-                            boolean passesFilter = (isLazy && useIndex) || filter == null || filter.test(edge);
-                            if (passesFilter) {
-                                cached.add(edge);
-                                return IteratorUtils.of(edge);
+                    CloseableIteratorUtils.batch(
+                            CloseableIteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT)),
+                            loadBatchSize),
+                    results -> {
+                        List<HBaseEdge> edges = new ArrayList<>(results.size());
+                        List<byte[]> entryValues = new ArrayList<>(verify ? results.size() : 0);
+                        boolean isLast = false;
+                        for (Result result : results) {
+                            if (result == Result.EMPTY_RESULT) {
+                                isLast = true;
                             } else {
-                                if (useIndex) edge.removeStaleIndex();
-                                return Collections.emptyIterator();
+                                edges.add((HBaseEdge) parser.parse(result));
+                                if (verify) entryValues.add(getValueBytes(result.getRow()));
+                            }
+                        }
+                        boolean isLazy = graph.isLazyLoading() && !verify;
+                        Set<HBaseEdge> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+                        if (!isLazy) graph.getEdgeModel().loadIfNeeded(edges, notFound::add);
+                        List<Edge> found = new ArrayList<>(edges.size());
+                        for (int i = 0; i < edges.size(); i++) {
+                            HBaseEdge edge = edges.get(i);
+                            if (notFound.contains(edge)) {
+                                edge.removeStaleIndex();
+                                continue;
                             }
-                        } catch (final HBaseGraphNotFoundException e) {
-                            edge.removeStaleIndex();
-                            return Collections.emptyIterator();
+                            try {
+                                boolean passesFilter = ((isLazy && useIndex) || filter == null || filter.test(edge))
+                                        && (!verify || isCurrent(edge, entryValues.get(i)));
+                                if (passesFilter) {
+                                    List<Edge> cachedEdges = cached.get();
+                                    if (cachedEdges != null) {
+                                        cachedEdges.add(edge);
+                                        if (cachedEdges.size() > maxEntryEdges) cached.set(null);
+                                    }
+                                    found.add(edge);
+                                } else {
+                                    if (useIndex) edge.removeStaleIndex();
+                                }
+                            } catch (final HBaseGraphNotFoundException e) {
+                                edge.removeStaleIndex();
+                            }
+                        }
+                        if (isLast) {
+                            if (cached.get() != null) vertex.cacheEdges(cacheKey, cached.get());
+                            scanner.close();
                         }
+                        return found.iterator();
                     });
-            return new DefaultCloseableIterator<Edge>(iterator) {
+            return hydrateAhead(new DefaultCloseableIterator<Edge>(iterator) {
                 @Override
                 public void close() {
                     scanner.close();
                 }
-            };
+            });
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
+    /**
+     * Fetch the adjacent vertices of several vertices, using a single scan over their adjacency prefixes.
+     *
+     * @param vertices  The vertices
+     * @param direction The direction of the edges
+     * @param labels    The edge labels, or none for all labels
+     * @return The adjacent vertices of each vertex, keyed by vertex id
+     */
+    public Map<Object, List<Vertex>> vertices(List<HBaseVertex> vertices, Direction direction, String... labels) {
+        Map<Object, List<Edge>> edges = edges(vertices, direction, labels);
+        Map<Object, List<Vertex>> result = new HashMap<>();
+        for (Map.Entry<Object, List<Edge>> entry : edges.entrySet()) {
+            Object vertexId = entry.getKey();
+            List<Vertex> adjacent = new ArrayList<>(entry.getValue().size());
+            for (Edge edge : entry.getValue()) {
+                Object inVertexId = edge.inVertex().id();
+                Object outVertexId = edge.outVertex().id();
+                adjacent.add(graph.findOrCreateVertex(vertexId.equals(inVertexId) ? outVertexId : inVertexId));
+            }
+            result.put(vertexId, adjacent);
+        }
+        if (graph.isLazyLoading()) return result;
+
+        Set<Vertex> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        result.values().forEach(distinct::addAll);
+        List<Vertex> toLoad = new ArrayList<>(distinct);
+        Set<Vertex> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < toLoad.size(); i += loadBatchSize) {
+            graph.getVertexModel().loadIfNeeded(toLoad.subList(i, Math.min(i + loadBatchSize, toLoad.size())), notFound::add);
+        }
+        if (notFound.isEmpty()) return result;
+        for (Map.Entry<Object, List<Vertex>> entry : result.entrySet()) {
+            List<Edge> adjacentEdges = edges.get(entry.getKey());
+            List<Vertex> adjacent = entry.getValue();
+            List<Vertex> found = new ArrayList<>(adjacent.size());
+            for (int i = 0; i < adjacent.size(); i++) {
+                if (notFound.contains(adjacent.get(i))) {
+                    ((HBaseEdge) adjacentEdges.get(i)).removeStaleIndex();
+                } else {
+                    found.add(adjacent.get(i));
+                }
+            }
+            entry.setValue(found);
+        }
+        return result;
+    }
+
     public Iterator<Vertex> vertices(HBaseVertex vertex, Direction direction, String... labels) {
-        return CloseableIteratorUtils.flatMap(edges(vertex, direction, labels), transformEdge(vertex));
+        return transformEdges(vertex, edges(vertex, direction, labels));
     }
 
     public Iterator<Vertex> vertices(HBaseVertex vertex, Direction direction, String label,
                                      String edgeKey, Object edgeValue) {
-        return CloseableIteratorUtils.flatMap(edges(vertex, direction, label, edgeKey, edgeValue), transformEdge(vertex));
+        return transformEdges(vertex, edges(vertex, direction, label, edgeKey, edgeValue));
     }
 
     public Iterator<Vertex> verticesInRange(HBaseVertex vertex, Direction direction, String label,
                                             String edgeKey, Object inclusiveFromEdgeValue, Object exclusiveToEdgeValue) {
-        return CloseableIteratorUtils.flatMap(edgesInRange(vertex, direction, label, edgeKey,
-                inclusiveFromEdgeValue, exclusiveToEdgeValue), transformEdge(vertex));
+        return transformEdges(vertex, edgesInRange(vertex, direction, label, edgeKey,
+                inclusiveFromEdgeValue, exclusiveToEdgeValue));
     }
 
     public Iterator<Vertex> verticesWithLimit(HBaseVertex vertex, Direction direction, String label,
                                               String edgeKey, Object fromEdgeValue, int limit, boolean reversed) {
-        return CloseableIteratorUtils.flatMap(edgesWithLimit(vertex, direction, label, edgeKey,
-                fromEdgeValue, limit, reversed), transformEdge(vertex));
-    }
-
-    private Function<Edge, Iterator<Vertex>> transformEdge(HBaseVertex vertex) {
-        return edge -> {
-            Object inVertexId = edge.inVertex().id();
-            Object outVertexId = edge.outVertex().id();
-            Object vertexId = vertex.id().equals(inVertexId) ? outVertexId : inVertexId;
-            try {
-                HBaseVertex v = (HBaseVertex) graph.findOrCreateVertex(vertexId);
-                if (!graph.isLazyLoading()) v.load();
-                return IteratorUtils.of(v);
-            } catch (final HBaseGraphNotFoundException e) {
-                ((HBaseEdge) edge).removeStaleIndex();
-                return Collections.emptyIterator();
+        return transformEdges(vertex, edgesWithLimit(vertex, direction, label, edgeKey,
+                fromEdgeValue, limit, reversed));
+    }
+
+    /**
+     * Map the given edges of a vertex to the vertices at their other end.
+     *
+     * @param vertex The vertex
+     * @param edges  The edges of the vertex
+     * @return The adjacent vertices
+     */
+    public Iterator<Vertex> vertices(HBaseVertex vertex, Iterator<Edge> edges) {
+        return transformEdges(vertex, edges);
+    }
+
+    private Iterator<Vertex> transformEdges(HBaseVertex vertex, Iterator<Edge> edges) {
+        return CloseableIteratorUtils.flatMap(
+                CloseableIteratorUtils.batch(edges, loadBatchSize),
+                transformEdges(vertex));
+    }
+
+    private Function<List<Edge>, Iterator<Vertex>> transformEdges(HBaseVertex vertex) {
+        return edges -> {
+            List<Vertex> vertices = new ArrayList<>(edges.size());
+            for (Edge edge : edges) {
+                Object inVertexId = edge.inVertex().id();
+                Object outVertexId = edge.outVertex().id();
+                Object vertexId = vertex.id().equals(inVertexId) ? outVertexId : inVertexId;
+                vertices.add(graph.findOrCreateVertex(vertexId));
+            }
+            if (graph.isLazyLoading()) return vertices.iterator();
+            Set<Vertex> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+            Set<Vertex> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            distinct.addAll(vertices);
+            graph.getVertexModel().loadIfNeeded(new ArrayList<>(distinct), notFound::add);
+            if (notFound.isEmpty()) return vertices.iterator();
+            List<Vertex> found = new ArrayList<>(vertices.size());
+            for (int i = 0; i < vertices.size(); i++) {
+                Vertex v = vertices.get(i);
+                if (notFound.contains(v)) {
+                    ((HBaseEdge) edges.get(i)).removeStaleIndex();
+                } else {
+                    found.add(v);
+                }
             }
+            return found.iterator();
         };
     }
 
@@ -252,6 +539,34 @@ public class EdgeIndexModel extends BaseModel {
         return scan;
     }
 
+    private Scan getEdgeEndpointsScan(Collection<HBaseVertex> vertices, Direction direction, String... labels) {
+        final String key = Constants.CREATED_AT;
+        Direction[] directions = direction == Direction.BOTH
+                ? new Direction[]{Direction.OUT, Direction.IN} : new Direction[]{direction};
+        String[] rangeLabels = labels.length > 0 ? labels : new String[]{null};
+        List<MultiRowRangeFilter.RowRange> ranges = new ArrayList<>();
+        byte[] startRow = null;
+        byte[] stopRow = null;
+        for (HBaseVertex vertex : vertices) {
+            for (Direction d : directions) {
+                for (String label : rangeLabels) {
+                    byte[] prefix = serializeForRead(vertex, d, false, key, label, null);
+                    byte[] end = HBaseGraphUtils.incrementBytes(prefix);
+                    ranges.add(new MultiRowRangeFilter.RowRange(prefix, true, end, false));
+                    if (startRow == null || Bytes.compareTo(prefix, startRow) < 0) startRow = prefix;
+                    if (stopRow == null || Bytes.compareTo(end, stopRow) > 0) stopRow = end;
+                }
+            }
+        }
+        try {
+            Scan scan = new Scan(startRow, stopRow);
+            scan.setFilter(new MultiRowRangeFilter(ranges));
+            return scan;
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
     private FilterList applyEdgeLabelsRowFilter(Vertex vertex, Direction direction, String key, String... labels) {
         FilterList rowFilters = new FilterList(FilterList.Operator.MUST_PASS_ONE);
         if (labels.length > 0) {
@@ -297,8 +612,31 @@ public class EdgeIndexModel extends BaseModel {
         return new Scan(startRow, stopRow);
     }
 
+    private Scan getEdgesScanInRange(Vertex vertex, Direction direction, boolean isUnique, String key, String label,
+                                     Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        LOGGER.trace("Executing Scan, type: {}, id: {}", "key-range", vertex.id());
+
+        byte[] typePrefix = Bytes.add(serializeForRead(vertex, direction, isUnique, key, label, null),
+                ValueUtils.serializeType(from != null ? from : to));
+        byte[] startRow;
+        if (from == null) {
+            startRow = typePrefix;
+        } else {
+            startRow = serializeForRead(vertex, direction, isUnique, key, label, from);
+            if (!fromInclusive) startRow = HBaseGraphUtils.incrementBytes(startRow);
+        }
+        byte[] stopRow;
+        if (to == null) {
+            stopRow = HBaseGraphUtils.incrementBytes(typePrefix);
+        } else {
+            stopRow = serializeForRead(vertex, direction, isUnique, key, label, to);
+            if (toInclusive) stopRow = HBaseGraphUtils.incrementBytes(stopRow);
+        }
+        return new Scan(startRow, stopRow);
+    }
+
     private Scan getEdgesScanWithLimit(Vertex vertex, Direction direction, boolean isUnique, String key, String label,
-                                       Object fromValue, int limit, boolean reversed) {
+                                       Object fromValue, boolean reversed) {
         LOGGER.trace("Executing Scan, type: {}, id: {}", "key-limit", vertex.id());
 
         byte[] prefix = serializeForRead(vertex, direction, isUnique, key, label, null);
@@ -317,17 +655,37 @@ public class EdgeIndexModel extends BaseModel {
         }
         if (reversed) startRow = HBaseGraphUtils.incrementBytes(startRow);
         Scan scan = new Scan(startRow, stopRow);
-        FilterList filterList = new FilterList();
-        filterList.addFilter(new PrefixFilter(prefix));
-        filterList.addFilter(new PageFilter(limit));
-        scan.setFilter(filterList);
+        scan.setFilter(new PrefixFilter(prefix));
         scan.setReversed(reversed);
         return scan;
     }
 
+    /**
+     * Whether the given loaded edge still has the value of the index entry it was read from.
+     */
+    private static boolean isCurrent(HBaseEdge edge, byte[] entryValue) {
+        byte[] propValueBytes = ValueUtils.serialize(edge.getProperty(edge.getIndexKey().propertyKey()));
+        return Bytes.equals(propValueBytes, entryValue);
+    }
+
+    /**
+     * The serialized value of the index entry with the given row key.
+     */
+    private static byte[] getValueBytes(byte[] row) {
+        PositionedByteRange buffer = new SimplePositionedByteRange(row);
+        ValueUtils.deserializeWithSalt(buffer);  // vertex id
+        OrderedBytes.skip(buffer);  // direction
+        OrderedBytes.skip(buffer);  // isUnique
+        OrderedBytes.skip(buffer);  // key
+        OrderedBytes.skip(buffer);  // label
+        int start = buffer.getPosition();
+        ValueUtils.deserialize(buffer);
+        return Arrays.copyOfRange(row, start, buffer.getPosition());
+    }
+
     public byte[] serializeForRead(Vertex vertex, Direction direction, boolean isUnique, String key, String label, Object value) {
         PositionedByteRange buffer = new DynamicPositionedMutableByteRange(4096);
-        ValueUtils.serializeWithSalt(buffer, vertex.id());
+        ValueUtils.serializeWithSalt(buffer, vertex.id(), graph.getSaltBuckets());
         if (direction != null) {
             OrderedBytes.encodeInt8(buffer, direction == Direction.IN ? (byte) 1 : (byte) 0, Order.ASCENDING);
             OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
@@ -352,7 +710,7 @@ public class EdgeIndexModel extends BaseModel {
         Object inVertexId = edge.inVertex().id();
         Object outVertexId = edge.outVertex().id();
         PositionedByteRange buffer = new DynamicPositionedMutableByteRange(4096);
-        ValueUtils.serializeWithSalt(buffer, direction == Direction.IN ? inVertexId : outVertexId);
+        ValueUtils.serializeWithSalt(buffer, direction == Direction.IN ? inVertexId : outVertexId, graph.getSaltBuckets());
         OrderedBytes.encodeInt8(buffer, direction == Direction.IN ? (byte) 1 : (byte) 0, Order.ASCENDING);
         OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
         OrderedBytes.encodeString(buffer, key, Order.ASCENDING);
@@ -1,6 +1,9 @@
 package io.hgraphdb.models;
 
 import io.hgraphdb.CloseableIteratorUtils;
+import io.hgraphdb.Constants;
+import io.hgraphdb.ElementCache;
+import io.hgraphdb.HBaseEdge;
 import io.hgraphdb.HBaseGraph;
 import io.hgraphdb.HBaseGraphException;
 import io.hgraphdb.HBaseGraphUtils;
@@ -11,6 +14,7 @@ import io.hgraphdb.mutators.EdgeWriter;
 import io.hgraphdb.mutators.Mutator;
 import io.hgraphdb.mutators.Mutators;
 import io.hgraphdb.readers.EdgeReader;
+import io.hgraphdb.util.ScanSizer;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
@@ -19,6 +23,8 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 
 public class EdgeModel extends ElementModel {
@@ -31,36 +37,72 @@ public class EdgeModel extends ElementModel {
         return new EdgeReader(graph);
     }
 
+    @Override
+    protected ElementCache<HBaseEdge> getElementCache() {
+        return graph.getEdgeCache();
+    }
+
     public void writeEdge(Edge edge) {
         Creator creator = new EdgeWriter(graph, edge);
-        Mutators.create(table, creator);
+        Mutators.create(table, groupCommit, creator);
+        invalidateRow(edge);
+        LabelIndexModel labelIndexModel = graph.getLabelIndexModel();
+        if (labelIndexModel != null) labelIndexModel.writeLabelIndex(edge);
     }
 
     public void deleteEdge(Edge edge) {
         Mutator writer = new EdgeRemover(graph, edge);
-        Mutators.write(table, writer);
+        Mutators.write(table, groupCommit, writer);
+        invalidateRow(edge);
+        LabelIndexModel labelIndexModel = graph.getLabelIndexModel();
+        if (labelIndexModel != null) labelIndexModel.deleteLabelIndex(edge);
+    }
+
+    @Override
+    protected List<byte[]> getProjectedColumns(Set<String> propertyKeys) {
+        List<byte[]> columns = super.getProjectedColumns(propertyKeys);
+        columns.add(Constants.TO_BYTES);
+        columns.add(Constants.FROM_BYTES);
+        return columns;
     }
 
     public Iterator<Edge> edges() {
-        final EdgeReader parser = new EdgeReader(graph);
+        return edges((Set<String>) null);
+    }
+
+    public Iterator<Edge> edges(Set<String> propertyKeys) {
+        final EdgeReader parser = new EdgeReader(graph, true);
+
+        ResultScanner scanner = null;
+        try {
+            scanner = getScanner(project(new Scan(), propertyKeys), ScanSizer.Kind.FULL);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, result -> parser.parse(result, propertyKeys));
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    public Iterator<Edge> edges(String label, Set<String> propertyKeys) {
+        final EdgeReader parser = new EdgeReader(graph, true);
 
+        Scan scan = project(getPropertyScan(label), propertyKeys);
         ResultScanner scanner = null;
         try {
-            scanner = table.getScanner(new Scan());
-            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
+            scanner = getScanner(scan, ScanSizer.Kind.LABEL);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, result -> parser.parse(result, propertyKeys));
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
     public Iterator<Edge> edges(Object fromId, int limit) {
-        final EdgeReader parser = new EdgeReader(graph);
+        final EdgeReader parser = new EdgeReader(graph, true);
 
-        Scan scan = fromId != null ? new Scan(ValueUtils.serializeWithSalt(fromId)) : new Scan();
+        Scan scan = fromId != null ? new Scan(ValueUtils.serializeWithSalt(fromId, graph.getSaltBuckets())) : new Scan();
         scan.setFilter(new PageFilter(limit));
         ResultScanner scanner = null;
         try {
-            scanner = table.getScanner(scan);
+            scanner = getOrderedScanner(scan, ScanSizer.Kind.FULL, limit);
             return CloseableIteratorUtils.limit(HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse), limit);
         } catch (IOException e) {
             throw new HBaseGraphException(e);
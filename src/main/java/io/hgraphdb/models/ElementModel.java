@@ -1,8 +1,12 @@
 package io.hgraphdb.models;
 
 import io.hgraphdb.Constants;
+import io.hgraphdb.ElementCache;
+import io.hgraphdb.HBaseElement;
 import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.HBaseGraphConfiguration;
 import io.hgraphdb.HBaseGraphException;
+import io.hgraphdb.OffHeapRowCache;
 import io.hgraphdb.ValueUtils;
 import io.hgraphdb.mutators.PropertyIncrementer;
 import io.hgraphdb.mutators.PropertyRemover;
@@ -15,42 +19,316 @@ import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.BinaryComparator;
 import org.apache.hadoop.hbase.filter.CompareFilter;
 import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
 import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 public abstract class ElementModel extends BaseModel {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementModel.class);
 
+    private final OffHeapRowCache rowCache;
+    private final ConcurrentMap<List<Object>, PendingLoad> pendingLoads = new ConcurrentHashMap<>();
+
     public ElementModel(HBaseGraph graph, Table table) {
         super(graph, table);
+        HBaseGraphConfiguration config = graph.configuration();
+        this.rowCache = config.getOffHeapCacheMaxBytes() > 0
+                ? new OffHeapRowCache(config.getOffHeapCacheMaxBytes(), config.getOffHeapCacheTtlSecs())
+                : null;
     }
 
     public abstract LoadingElementReader getReader();
 
+    /**
+     * The cache of the elements of this model, which records their loads.
+     */
+    protected abstract ElementCache<?> getElementCache();
+
+    /**
+     * The off-heap cache of the rows of this model, or null if it is disabled.
+     */
+    public OffHeapRowCache getRowCache() {
+        return rowCache;
+    }
+
+    /**
+     * Drop the cached row of the given element after it has been written.
+     */
+    public void invalidateRow(Element element) {
+        if (rowCache != null) {
+            rowCache.invalidate(ValueUtils.serializeWithSalt(element.id(), graph.getSaltBuckets()));
+        }
+    }
+
     /**
      * Load the element from the backing table.
      *
      * @param element The element
      */
-    @SuppressWarnings("unchecked")
     public void load(Element element) {
+        load(element, null);
+    }
+
+    /**
+     * Load the element from the backing table, reading only the given property columns
+     * along with the label and timestamps.
+     *
+     * @param element      The element
+     * @param propertyKeys The property keys to read, or null for all properties
+     */
+    @SuppressWarnings("unchecked")
+    public void load(Element element, Set<String> propertyKeys) {
         LOGGER.trace("Executing Get, type: {}, id: {}", getClass().getSimpleName(), element.id());
 
-        Get get = new Get(ValueUtils.serializeWithSalt(element.id()));
+        byte[] row = ValueUtils.serializeWithSalt(element.id(), graph.getSaltBuckets());
+        long generation = 0;
+        if (rowCache != null) {
+            generation = rowCache.generation(row);
+            Result cached = rowCache.get(row);
+            if (cached != null) {
+                getReader().load(element, cached);
+                return;
+            }
+        }
+        Get get = new Get(row);
+        if (propertyKeys != null) {
+            for (byte[] column : getProjectedColumns(propertyKeys)) {
+                get.addColumn(Constants.DEFAULT_FAMILY_BYTES, column);
+            }
+        }
+
+        // concurrent loads of the same columns of an element share one Get
+        List<Object> loadKey = Arrays.asList(ElementCache.key(element.id()), propertyKeys);
+        PendingLoad load = new PendingLoad(element);
+        PendingLoad pending = pendingLoads.putIfAbsent(loadKey, load);
+        if (pending != null) {
+            getElementCache().recordCoalescedLoad();
+            Result result = pending.await();
+            // the shared element has already been loaded by the first caller
+            if (pending.element != element || result.isEmpty()) {
+                getReader().load(element, result, propertyKeys);
+            }
+            return;
+        }
+
+        Result result = null;
+        RuntimeException failure = null;
+        long start = System.nanoTime();
+        try {
+            result = table.get(get);
+            getElementCache().recordLoad(1, System.nanoTime() - start, true);
+            if (rowCache != null && propertyKeys == null) rowCache.put(result, generation);
+            getReader().load(element, result, propertyKeys);
+        } catch (IOException e) {
+            getElementCache().recordLoad(1, System.nanoTime() - start, false);
+            failure = new HBaseGraphException(e);
+            throw failure;
+        } finally {
+            pendingLoads.remove(loadKey, load);
+            if (result != null) {
+                load.complete(result);
+            } else {
+                load.completeExceptionally(failure != null
+                        ? failure : new HBaseGraphException("Could not load element: " + element.id()));
+            }
+        }
+    }
+
+    private static class PendingLoad extends CompletableFuture<Result> {
+
+        private final Element element;
+
+        PendingLoad(Element element) {
+            this.element = element;
+        }
+
+        Result await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw new HBaseGraphException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Load the given elements from the backing table with a single multi-get.
+     * Elements that do not exist are passed to {@code notFound} and left out of the result.
+     *
+     * @param elements The elements
+     * @param notFound The callback for elements that do not exist
+     * @return The elements that were found, in the order given
+     */
+    public <E extends Element> List<E> load(List<E> elements, Consumer<E> notFound) {
+        return load(elements, notFound, null);
+    }
+
+    /**
+     * Load the given elements from the backing table with a single multi-get,
+     * reading only the given property columns.  Unlike single loads, multi-gets are
+     * not shared with concurrent loads of the same elements.
+     *
+     * @param elements     The elements
+     * @param notFound     The callback for elements that do not exist
+     * @param propertyKeys The property keys to read, or null for all properties
+     * @return The elements that were found, in the order given
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Element> List<E> load(List<E> elements, Consumer<E> notFound, Set<String> propertyKeys) {
+        if (elements.isEmpty()) return Collections.emptyList();
+        LOGGER.trace("Executing multi-Get, type: {}, size: {}", getClass().getSimpleName(), elements.size());
+
+        // complete rows from the off-heap cache serve projected loads too
+        Result[] results = new Result[elements.size()];
+        boolean[] cached = new boolean[elements.size()];
+        long[] generations = new long[elements.size()];
+        List<Integer> misses = new ArrayList<>(elements.size());
+        List<Get> gets = new ArrayList<>(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            byte[] row = ValueUtils.serializeWithSalt(elements.get(i).id(), graph.getSaltBuckets());
+            if (rowCache != null) generations[i] = rowCache.generation(row);
+            results[i] = rowCache != null ? rowCache.get(row) : null;
+            if (results[i] != null) {
+                cached[i] = true;
+                continue;
+            }
+            Get get = new Get(row);
+            if (propertyKeys != null) {
+                for (byte[] column : getProjectedColumns(propertyKeys)) {
+                    get.addColumn(Constants.DEFAULT_FAMILY_BYTES, column);
+                }
+            }
+            misses.add(i);
+            gets.add(get);
+        }
 
+        long start = System.nanoTime();
         try {
-            Result result = table.get(get);
-            getReader().load(element, result);
+            if (!gets.isEmpty()) {
+                Result[] fetched = table.get(gets);
+                getElementCache().recordLoad(gets.size(), System.nanoTime() - start, true);
+                for (int i = 0; i < fetched.length; i++) {
+                    int index = misses.get(i);
+                    results[index] = fetched[i];
+                    if (rowCache != null && propertyKeys == null) rowCache.put(fetched[i], generations[index]);
+                }
+            }
+            List<E> found = new ArrayList<>(elements.size());
+            for (int i = 0; i < results.length; i++) {
+                E element = elements.get(i);
+                if (results[i] == null || results[i].isEmpty()) {
+                    notFound.accept(element);
+                } else {
+                    getReader().load(element, results[i], cached[i] ? null : propertyKeys);
+                    found.add(element);
+                }
+            }
+            return found;
         } catch (IOException e) {
+            getElementCache().recordLoad(gets.size(), System.nanoTime() - start, false);
             throw new HBaseGraphException(e);
         }
     }
 
+    /**
+     * Load the given elements that are not already fully loaded in the element cache,
+     * using a single multi-get. Elements that do not exist are passed to {@code notFound}.
+     *
+     * @param elements The elements
+     * @param notFound The callback for elements that do not exist
+     */
+    public <E extends Element> void loadIfNeeded(List<E> elements, Consumer<E> notFound) {
+        loadIfNeeded(elements, notFound, null);
+    }
+
+    /**
+     * Load the given elements that do not already hold the given properties in the
+     * element cache, reading only those property columns.
+     *
+     * @param elements     The elements
+     * @param notFound     The callback for elements that do not exist
+     * @param propertyKeys The property keys to read, or null for all properties
+     */
+    public <E extends Element> void loadIfNeeded(List<E> elements, Consumer<E> notFound, Set<String> propertyKeys) {
+        List<E> misses = new ArrayList<>();
+        for (E element : elements) {
+            HBaseElement e = (HBaseElement) element;
+            if (!e.isCached() || !e.isLoaded(propertyKeys) || e.isDeleted()) {
+                misses.add(element);
+            }
+        }
+        load(misses, notFound, propertyKeys);
+    }
+
+    /**
+     * The columns to read for the given property keys, including the hidden
+     * columns that every element needs.
+     */
+    protected List<byte[]> getProjectedColumns(Set<String> propertyKeys) {
+        List<byte[]> columns = new ArrayList<>(Arrays.asList(
+                Constants.LABEL_BYTES, Constants.CREATED_AT_BYTES, Constants.UPDATED_AT_BYTES));
+        for (String key : propertyKeys) {
+            columns.add(Bytes.toBytes(key));
+        }
+        return columns;
+    }
+
+    /**
+     * Restrict the scan to the columns of the given property keys.
+     *
+     * @param scan         The scan
+     * @param propertyKeys The property keys to read, or null for all properties
+     * @return The scan
+     */
+    protected Scan project(Scan scan, Set<String> propertyKeys) {
+        if (propertyKeys != null) {
+            for (byte[] column : getProjectedColumns(propertyKeys)) {
+                scan.addColumn(Constants.DEFAULT_FAMILY_BYTES, column);
+            }
+        }
+        return scan;
+    }
+
+    /**
+     * Count the elements in the backing table, reading only the first key of each row.
+     *
+     * @return The number of elements
+     */
+    public long count() {
+        Scan scan = new Scan();
+        scan.setFilter(new FirstKeyOnlyFilter());
+        return countRows(scan);
+    }
+
+    /**
+     * Count the elements with the given label, reading only their label column.
+     *
+     * @param label The label
+     * @return The number of elements
+     */
+    public long count(String label) {
+        Scan scan = getPropertyScan(label);
+        scan.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.LABEL_BYTES);
+        return countRows(scan);
+    }
+
     /**
      * Delete the property entry from property table.
      *
@@ -106,15 +384,22 @@ public abstract class ElementModel extends BaseModel {
     }
 
     protected Scan getPropertyScan(String label, byte[] key, byte[] inclusiveFromValue, byte[] exclusiveToValue) {
+        return getPropertyScan(label, key, inclusiveFromValue, true, exclusiveToValue, false);
+    }
+
+    protected Scan getPropertyScan(String label, byte[] key, byte[] fromValue, boolean fromInclusive,
+                                   byte[] toValue, boolean toInclusive) {
         Scan scan = new Scan();
         SingleColumnValueFilter labelFilter = new SingleColumnValueFilter(Constants.DEFAULT_FAMILY_BYTES,
                 Constants.LABEL_BYTES, CompareFilter.CompareOp.EQUAL, new BinaryComparator(ValueUtils.serialize(label)));
         labelFilter.setFilterIfMissing(true);
         SingleColumnValueFilter fromValueFilter = new SingleColumnValueFilter(Constants.DEFAULT_FAMILY_BYTES,
-                key, CompareFilter.CompareOp.GREATER_OR_EQUAL, new BinaryComparator(inclusiveFromValue));
+                key, fromInclusive ? CompareFilter.CompareOp.GREATER_OR_EQUAL : CompareFilter.CompareOp.GREATER,
+                new BinaryComparator(fromValue));
         fromValueFilter.setFilterIfMissing(true);
         SingleColumnValueFilter toValueFilter = new SingleColumnValueFilter(Constants.DEFAULT_FAMILY_BYTES,
-                key, CompareFilter.CompareOp.LESS, new BinaryComparator(exclusiveToValue));
+                key, toInclusive ? CompareFilter.CompareOp.LESS_OR_EQUAL : CompareFilter.CompareOp.LESS,
+                new BinaryComparator(toValue));
         toValueFilter.setFilterIfMissing(true);
         FilterList filterList = new FilterList(labelFilter, fromValueFilter, toValueFilter);
         scan.setFilter(filterList);
@@ -88,12 +88,14 @@ public class IndexMetadataModel extends BaseModel {
         ElementType type = OrderedBytes.decodeInt8(buffer) == 1 ? ElementType.VERTEX : ElementType.EDGE;
         Cell uniqueCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.UNIQUE_BYTES);
         boolean isUnique = ValueUtils.deserialize(CellUtil.cloneValue(uniqueCell));
+        Cell valueBucketsCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.VALUE_BUCKETS_BYTES);
+        int valueBuckets = valueBucketsCell != null ? ValueUtils.deserialize(CellUtil.cloneValue(valueBucketsCell)) : 1;
         Cell stateCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.INDEX_STATE_BYTES);
         State state = State.valueOf(ValueUtils.deserialize(CellUtil.cloneValue(stateCell)));
         Cell createdAtCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES);
         Long createdAt = ValueUtils.deserialize(CellUtil.cloneValue(createdAtCell));
         Cell updatedAtCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.UPDATED_AT_BYTES);
         Long updatedAt = ValueUtils.deserialize(CellUtil.cloneValue(updatedAtCell));
-        return new IndexMetadata(type, label, propertyKey, isUnique, state, createdAt, updatedAt);
+        return new IndexMetadata(type, label, propertyKey, isUnique, valueBuckets, state, createdAt, updatedAt);
     }
 }
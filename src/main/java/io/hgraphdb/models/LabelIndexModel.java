@@ -0,0 +1,131 @@
+package io.hgraphdb.models;
+
+import io.hgraphdb.*;
+import io.hgraphdb.mutators.LabelIndexRemover;
+import io.hgraphdb.mutators.LabelIndexWriter;
+import io.hgraphdb.mutators.Mutator;
+import io.hgraphdb.mutators.Mutators;
+import io.hgraphdb.util.DynamicPositionedMutableByteRange;
+import io.hgraphdb.util.ScanSizer;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.util.Order;
+import org.apache.hadoop.hbase.util.OrderedBytes;
+import org.apache.hadoop.hbase.util.PositionedByteRange;
+import org.apache.hadoop.hbase.util.SimplePositionedByteRange;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An index of the ids of the vertices and edges with each label.  Rows are salted by
+ * element id, like the rows of the element tables, so the rows of a label are spread
+ * over all regions and read with one range per salt.
+ */
+public class LabelIndexModel extends BaseModel {
+
+    public LabelIndexModel(HBaseGraph graph, Table table) {
+        super(graph, table);
+    }
+
+    public void writeLabelIndex(Element element) {
+        Mutator writer = new LabelIndexWriter(graph, element);
+        Mutators.write(table, groupCommit, writer);
+    }
+
+    public void deleteLabelIndex(Element element) {
+        Mutator writer = new LabelIndexRemover(graph, element);
+        Mutators.write(table, groupCommit, writer);
+    }
+
+    /**
+     * The vertices with the given label, which are not loaded.
+     */
+    public Iterator<Vertex> vertices(String label) {
+        return elements(ElementType.VERTEX, label, graph::findOrCreateScannedVertex);
+    }
+
+    /**
+     * The edges with the given label, which are not loaded.
+     */
+    public Iterator<Edge> edges(String label) {
+        return elements(ElementType.EDGE, label, graph::findOrCreateScannedEdge);
+    }
+
+    /**
+     * Count the elements with the given label, reading only the keys of the index rows.
+     */
+    public long count(ElementType type, String label) {
+        return countRows(getLabelIndexScan(type, label));
+    }
+
+    private <E extends Element> Iterator<E> elements(ElementType type, String label, Function<Object, E> finder) {
+        ResultScanner scanner;
+        try {
+            scanner = getOrderedScanner(getLabelIndexScan(type, label), ScanSizer.Kind.LABEL, 0);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, result -> finder.apply(deserialize(result)));
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    private Scan getLabelIndexScan(ElementType type, String label) {
+        byte[] prefix = serializePrefix(type, label);
+        List<MultiRowRangeFilter.RowRange> ranges = new ArrayList<>(graph.getSaltBuckets());
+        for (int salt = 0; salt < graph.getSaltBuckets(); salt++) {
+            byte[] start = new byte[prefix.length + 1];
+            start[0] = (byte) salt;
+            System.arraycopy(prefix, 0, start, 1, prefix.length);
+            ranges.add(new MultiRowRangeFilter.RowRange(start, true, HBaseGraphUtils.incrementBytes(start), false));
+        }
+        try {
+            Scan scan = new Scan(ranges.get(0).getStartRow(), ranges.get(ranges.size() - 1).getStopRow());
+            scan.setFilter(new MultiRowRangeFilter(ranges));
+            return scan;
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    public byte[] serialize(Element element) {
+        byte[] idBytes = ValueUtils.serialize(element.id());
+        byte[] prefix = serializePrefix(element instanceof Vertex ? ElementType.VERTEX : ElementType.EDGE, element.label());
+        PositionedByteRange buffer = new DynamicPositionedMutableByteRange(4096);
+        buffer.put(ValueUtils.getSaltingByte(idBytes, graph.getSaltBuckets()));
+        buffer.put(prefix);
+        buffer.put(idBytes);
+        buffer.setLength(buffer.getPosition());
+        buffer.setPosition(0);
+        byte[] bytes = new byte[buffer.getRemaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private byte[] serializePrefix(ElementType type, String label) {
+        PositionedByteRange buffer = new DynamicPositionedMutableByteRange(4096);
+        OrderedBytes.encodeInt8(buffer, (byte) type.ordinal(), Order.ASCENDING);
+        OrderedBytes.encodeString(buffer, label, Order.ASCENDING);
+        buffer.setLength(buffer.getPosition());
+        buffer.setPosition(0);
+        byte[] bytes = new byte[buffer.getRemaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private Object deserialize(Result result) {
+        PositionedByteRange buffer = new SimplePositionedByteRange(result.getRow());
+        buffer.get();  // discard salt
+        OrderedBytes.decodeInt8(buffer);
+        OrderedBytes.decodeString(buffer);
+        return ValueUtils.deserialize(buffer);
+    }
+}
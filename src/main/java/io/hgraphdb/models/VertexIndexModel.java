@@ -7,6 +7,8 @@ import io.hgraphdb.mutators.VertexIndexRemover;
 import io.hgraphdb.mutators.VertexIndexWriter;
 import io.hgraphdb.readers.VertexIndexReader;
 import io.hgraphdb.util.DynamicPositionedMutableByteRange;
+import io.hgraphdb.util.MergingResultScanner;
+import io.hgraphdb.util.ScanSizer;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.HConstants;
@@ -14,8 +16,7 @@ import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
-import org.apache.hadoop.hbase.filter.FilterList;
-import org.apache.hadoop.hbase.filter.PageFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.filter.PrefixFilter;
 import org.apache.hadoop.hbase.util.*;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -23,10 +24,15 @@ import org.apache.tinkerpop.gremlin.structure.util.DefaultCloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 public class VertexIndexModel extends BaseModel {
@@ -40,110 +46,291 @@ public class VertexIndexModel extends BaseModel {
         ((HBaseVertex) vertex).setIndexTs(now);
         Iterator<IndexMetadata> indices = ((HBaseVertex) vertex).getIndices(OperationType.WRITE);
         VertexIndexWriter writer = new VertexIndexWriter(graph, vertex, indices, now);
-        Mutators.create(table, writer);
+        Mutators.create(table, groupCommit, writer);
     }
 
     public void writeVertexIndex(Vertex vertex, String key) {
         VertexIndexWriter writer = new VertexIndexWriter(graph, vertex, key);
-        Mutators.create(table, writer);
+        Mutators.create(table, groupCommit, writer);
     }
 
     public void deleteVertexIndex(Vertex vertex, Long ts) {
         Iterator<IndexMetadata> indices = ((HBaseVertex) vertex).getIndices(OperationType.WRITE);
         VertexIndexRemover writer = new VertexIndexRemover(graph, vertex, indices, ts);
-        Mutators.write(table, writer);
+        Mutators.write(table, groupCommit, writer);
     }
 
     public void deleteVertexIndex(Vertex vertex, String key, Long ts) {
         Mutator writer = new VertexIndexRemover(graph, vertex, key, ts);
-        Mutators.write(table, writer);
+        Mutators.write(table, groupCommit, writer);
     }
 
     public Iterator<Vertex> vertices(String label, boolean isUnique, String key, Object value) {
         byte[] valueBytes = ValueUtils.serialize(value);
-        return vertices(getVertexIndexScan(label, isUnique, key, value), vertex -> {
+        List<Scan> scans = new ArrayList<>();
+        for (int bucket : getBuckets(label, isUnique, key, valueBytes)) {
+            scans.add(getVertexIndexScan(label, isUnique, key, value, bucket));
+        }
+        return vertices(scans, vertex -> {
             byte[] propValueBytes = ValueUtils.serialize(vertex.getProperty(key));
             return Bytes.compareTo(propValueBytes, valueBytes) == 0;
-        });
+        }, false, ScanSizer.Kind.INDEX_EQ, 0);
+    }
+
+    /**
+     * Count the vertices with the given value from the index, without loading whole vertices.
+     * Unless loading is lazy, in which case the reads do not verify the entries either, each
+     * entry is verified as the reads do, by loading only the key of its vertex, so that stale
+     * entries are not counted.
+     */
+    public long count(String label, boolean isUnique, String key, Object value) {
+        byte[] valueBytes = ValueUtils.serialize(value);
+        VertexIndexReader parser = new VertexIndexReader(graph);
+        Set<String> propertyKeys = Collections.singleton(key);
+        long count = 0;
+        for (int bucket : getBuckets(label, isUnique, key, valueBytes)) {
+            Scan scan = getVertexIndexScan(label, isUnique, key, value, bucket);
+            if (graph.isLazyLoading()) {
+                count += countRows(scan);
+                continue;
+            }
+            count += countElements(scan, ScanSizer.Kind.INDEX_EQ, result -> (HBaseVertex) parser.parse(result),
+                    vertices -> {
+                        Set<HBaseVertex> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+                        graph.getVertexModel().loadIfNeeded(vertices, notFound::add, propertyKeys);
+                        int current = 0;
+                        for (HBaseVertex vertex : vertices) {
+                            try {
+                                if (!notFound.contains(vertex)
+                                        && Bytes.equals(ValueUtils.serialize(vertex.getProperty(key)), valueBytes)) {
+                                    current++;
+                                }
+                            } catch (final HBaseGraphNotFoundException e) {
+                                // removed since it was loaded
+                            }
+                        }
+                        return current;
+                    });
+        }
+        return count;
     }
 
     public Iterator<Vertex> verticesInRange(String label, boolean isUnique, String key, Object inclusiveFrom, Object exclusiveTo) {
-        byte[] fromBytes = ValueUtils.serialize(inclusiveFrom);
-        byte[] toBytes = ValueUtils.serialize(exclusiveTo);
-        return vertices(getVertexIndexScanInRange(label, isUnique, key, inclusiveFrom, exclusiveTo), vertex -> {
+        return verticesInRange(label, isUnique, key, inclusiveFrom, true, exclusiveTo, false);
+    }
+
+    /**
+     * Scan the index for the vertices whose value lies within the given bounds.
+     * A null bound is open, in which case the range is limited to values of the
+     * same type as the other bound.
+     */
+    public Iterator<Vertex> verticesInRange(String label, boolean isUnique, String key,
+                                            Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        byte[] typeBytes = ValueUtils.serializeType(from != null ? from : to);
+        byte[] fromBytes = from != null ? ValueUtils.serialize(from) : null;
+        byte[] toBytes = to != null ? ValueUtils.serialize(to) : null;
+        List<Scan> scans = new ArrayList<>();
+        for (int bucket : getBuckets(label, isUnique, key, null)) {
+            scans.add(getVertexIndexScanInRange(label, isUnique, key, from, fromInclusive, to, toInclusive, bucket));
+        }
+        if (Bytes.compareTo(scans.get(0).getStartRow(), scans.get(0).getStopRow()) >= 0) {
+            return Collections.emptyIterator();
+        }
+        return vertices(scans, vertex -> {
             byte[] propValueBytes = ValueUtils.serialize(vertex.getProperty(key));
-            return Bytes.compareTo(propValueBytes, fromBytes) >= 0
-                    && Bytes.compareTo(propValueBytes, toBytes) < 0;
-        });
+            if (!Bytes.startsWith(propValueBytes, typeBytes)) return false;
+            if (fromBytes != null) {
+                int compare = Bytes.compareTo(propValueBytes, fromBytes);
+                if (fromInclusive ? compare < 0 : compare <= 0) return false;
+            }
+            if (toBytes != null) {
+                int compare = Bytes.compareTo(propValueBytes, toBytes);
+                if (toInclusive ? compare > 0 : compare >= 0) return false;
+            }
+            return true;
+        }, false, ScanSizer.Kind.INDEX_RANGE, 0);
     }
 
+    /**
+     * Scan the index for the first vertices in the order of their values.  Entries whose
+     * vertex no longer exists or no longer has the value of the entry are skipped, so the
+     * scan is not bounded by the limit, but continues until enough current entries are
+     * found.  Its first page is sized to absorb a few stale entries.
+     */
     public Iterator<Vertex> verticesWithLimit(String label, boolean isUnique, String key, Object from, int limit, boolean reversed) {
+        return verticesWithLimit(label, isUnique, key, from, true, limit, reversed);
+    }
+
+    /**
+     * As above, but the entries with the value of the bound are skipped if it is exclusive.
+     */
+    public Iterator<Vertex> verticesWithLimit(String label, boolean isUnique, String key, Object from, boolean fromInclusive,
+                                              int limit, boolean reversed) {
         byte[] fromBytes = from != null ? ValueUtils.serialize(from) : HConstants.EMPTY_BYTE_ARRAY;
-        return CloseableIteratorUtils.limit(vertices(getVertexIndexScanWithLimit(label, isUnique, key, from, limit, reversed), vertex -> {
+        List<Scan> scans = new ArrayList<>();
+        for (int bucket : getBuckets(label, isUnique, key, null)) {
+            scans.add(getVertexIndexScanWithLimit(label, isUnique, key, from, fromInclusive, reversed, bucket));
+        }
+        return CloseableIteratorUtils.limit(vertices(scans, vertex -> {
             if (fromBytes == HConstants.EMPTY_BYTE_ARRAY) return true;
             byte[] propValueBytes = ValueUtils.serialize(vertex.getProperty(key));
             int compare = Bytes.compareTo(propValueBytes, fromBytes);
             return reversed ? compare <= 0 : compare >= 0;
-        }), limit);
+        }, true, ScanSizer.Kind.INDEX_RANGE, (int) Math.min(Integer.MAX_VALUE, 2L * limit)), limit);
     }
 
+    /**
+     * Scan all the entries of the given index.
+     */
+    public Scan getVertexIndexScan(IndexMetadata index) {
+        if (index.valueBuckets() == 1) {
+            return getVertexIndexScan(index.label(), index.isUnique(), index.propertyKey(), null, 0);
+        }
+        List<MultiRowRangeFilter.RowRange> ranges = new ArrayList<>(index.valueBuckets());
+        for (int bucket = 0; bucket < index.valueBuckets(); bucket++) {
+            byte[] prefix = serializeForRead(index.label(), index.isUnique(), index.propertyKey(), null, bucket);
+            ranges.add(new MultiRowRangeFilter.RowRange(prefix, true, HBaseGraphUtils.incrementBytes(prefix), false));
+        }
+        try {
+            MultiRowRangeFilter filter = new MultiRowRangeFilter(ranges);
+            // the filter sorts the ranges, which wrap around if the buckets do
+            List<MultiRowRangeFilter.RowRange> sortedRanges = filter.getRowRanges();
+            Scan scan = new Scan(sortedRanges.get(0).getStartRow(), sortedRanges.get(sortedRanges.size() - 1).getStopRow());
+            scan.setFilter(filter);
+            return scan;
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    /**
+     * The buckets to read for the given value, or for any value if it is null.  The bucket
+     * of a value is known if the index is unique, as entries are then salted by value only.
+     */
+    private int[] getBuckets(String label, boolean isUnique, String key, byte[] valueBytes) {
+        int valueBuckets = getValueBuckets(label, key);
+        if (valueBuckets == 1) {
+            return new int[]{0};
+        }
+        if (isUnique && valueBytes != null) {
+            return new int[]{ValueUtils.getSaltingByte(valueBytes, valueBuckets) & 0xff};
+        }
+        int[] buckets = new int[valueBuckets];
+        for (int i = 0; i < valueBuckets; i++) {
+            buckets[i] = i;
+        }
+        return buckets;
+    }
+
+    private int getValueBuckets(String label, String key) {
+        IndexMetadata index = graph.getIndex(new IndexMetadata.Key(ElementType.VERTEX, label, key));
+        return index != null ? index.valueBuckets() : 1;
+    }
+
+    /**
+     * Load the vertices of the entries returned by the given scans, in batches, dropping
+     * those that do not pass the filter.  If {@code verify} is set, the vertices are loaded
+     * even if loading is lazy, and those whose current value differs from the value of
+     * their entry are dropped as well.
+     */
     @SuppressWarnings("unchecked")
-    private Iterator<Vertex> vertices(Scan scan, Predicate<HBaseVertex> filter) {
+    private Iterator<Vertex> vertices(List<Scan> scans, Predicate<HBaseVertex> filter, boolean verify,
+                                      ScanSizer.Kind kind, int limit) {
         final VertexIndexReader parser = new VertexIndexReader(graph);
         ResultScanner scanner;
         try {
-            scanner = table.getScanner(scan);
+            if (scans.size() == 1) {
+                scanner = getOrderedScanner(scans.get(0), kind, limit);
+            } else {
+                for (Scan scan : scans) {
+                    size(scan, kind, limit);
+                }
+                scanner = observe(new MergingResultScanner(graph.connection(), table.getName(), scans,
+                        graph.getScannerLeaseMillis(), graph.getScanExecutor()), kind);
+            }
             Iterator<Vertex> iterator = CloseableIteratorUtils.flatMap(
-                    CloseableIteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT)),
-                    result -> {
-                        if (result == Result.EMPTY_RESULT) {
-                            scanner.close();
-                            return Collections.emptyIterator();
-                        }
-                        HBaseVertex vertex = (HBaseVertex) parser.parse(result);
-                        try {
-                            boolean isLazy = graph.isLazyLoading();
-                            if (!isLazy) vertex.load();
-                            boolean passesFilter = isLazy || filter == null || filter.test(vertex);
-                            if (passesFilter) {
-                                return IteratorUtils.of(vertex);
+                    CloseableIteratorUtils.batch(
+                            CloseableIteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT)),
+                            graph.configuration().getLoadBatchSize()),
+                    results -> {
+                        List<HBaseVertex> vertices = new ArrayList<>(results.size());
+                        List<byte[]> entryValues = new ArrayList<>(verify ? results.size() : 0);
+                        boolean isLast = false;
+                        for (Result result : results) {
+                            if (result == Result.EMPTY_RESULT) {
+                                isLast = true;
                             } else {
+                                vertices.add((HBaseVertex) parser.parse(result));
+                                if (verify) entryValues.add(getValueBytes(result.getRow()));
+                            }
+                        }
+                        boolean isLazy = graph.isLazyLoading() && !verify;
+                        Set<HBaseVertex> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+                        if (!isLazy) graph.getVertexModel().loadIfNeeded(vertices, notFound::add);
+                        List<Vertex> found = new ArrayList<>(vertices.size());
+                        for (int i = 0; i < vertices.size(); i++) {
+                            HBaseVertex vertex = vertices.get(i);
+                            try {
+                                boolean passesFilter = !notFound.contains(vertex)
+                                        && (isLazy || filter == null || filter.test(vertex))
+                                        && (!verify || isCurrent(vertex, entryValues.get(i)));
+                                if (passesFilter) {
+                                    found.add(vertex);
+                                } else {
+                                    vertex.removeStaleIndex();
+                                }
+                            } catch (final HBaseGraphNotFoundException e) {
                                 vertex.removeStaleIndex();
-                                return Collections.emptyIterator();
                             }
-                        } catch (final HBaseGraphNotFoundException e) {
-                            vertex.removeStaleIndex();
-                            return Collections.emptyIterator();
                         }
+                        if (isLast) scanner.close();
+                        return found.iterator();
                     });
-            return new DefaultCloseableIterator<Vertex>(iterator) {
+            return hydrateAhead(new DefaultCloseableIterator<Vertex>(iterator) {
                 @Override
                 public void close() {
                     scanner.close();
                 }
-            };
+            });
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
-    private Scan getVertexIndexScan(String label, boolean isUnique, String key, Object value) {
-        byte[] startRow = serializeForRead(label, isUnique, key, value);
+    private Scan getVertexIndexScan(String label, boolean isUnique, String key, Object value, int bucket) {
+        byte[] startRow = serializeForRead(label, isUnique, key, value, bucket);
         Scan scan = new Scan(startRow);
         scan.setRowPrefixFilter(startRow);
         return scan;
     }
 
-    private Scan getVertexIndexScanInRange(String label, boolean isUnique, String key, Object inclusiveFrom, Object exclusiveTo) {
-        byte[] startRow = serializeForRead(label, isUnique, key, inclusiveFrom);
-        byte[] endRow = serializeForRead(label, isUnique, key, exclusiveTo);
-        return new Scan(startRow, endRow);
+    private Scan getVertexIndexScanInRange(String label, boolean isUnique, String key,
+                                           Object from, boolean fromInclusive, Object to, boolean toInclusive,
+                                           int bucket) {
+        byte[] typePrefix = Bytes.add(serializeForRead(label, isUnique, key, null, bucket),
+                ValueUtils.serializeType(from != null ? from : to));
+        byte[] startRow;
+        if (from == null) {
+            startRow = typePrefix;
+        } else {
+            startRow = serializeForRead(label, isUnique, key, from, bucket);
+            if (!fromInclusive) startRow = HBaseGraphUtils.incrementBytes(startRow);
+        }
+        byte[] stopRow;
+        if (to == null) {
+            stopRow = HBaseGraphUtils.incrementBytes(typePrefix);
+        } else {
+            stopRow = serializeForRead(label, isUnique, key, to, bucket);
+            if (toInclusive) stopRow = HBaseGraphUtils.incrementBytes(stopRow);
+        }
+        return new Scan(startRow, stopRow);
     }
 
-    private Scan getVertexIndexScanWithLimit(String label, boolean isUnique, String key, Object from, int limit, boolean reversed) {
-        byte[] prefix = serializeForRead(label, isUnique, key, null);
+    private Scan getVertexIndexScanWithLimit(String label, boolean isUnique, String key, Object from,
+                                             boolean fromInclusive, boolean reversed, int bucket) {
+        byte[] prefix = serializeForRead(label, isUnique, key, null, bucket);
         byte[] startRow = from != null
-                ? serializeForRead(label, isUnique, key, from)
+                ? serializeForRead(label, isUnique, key, from, bucket)
                 : prefix;
         byte[] stopRow = HConstants.EMPTY_END_ROW;
         if (graph.configuration().getInstanceType() == HBaseGraphConfiguration.InstanceType.BIGTABLE) {
@@ -155,20 +342,47 @@ public class VertexIndexModel extends BaseModel {
                 stopRow = HBaseGraphUtils.incrementBytes(prefix);
             }
         }
-        if (reversed) startRow = HBaseGraphUtils.incrementBytes(startRow);
+        // the entries of a value all start with its serialized form, so incrementing it moves
+        // the start past them: an ascending scan skips them that way if the bound is exclusive,
+        // and a reversed scan, which runs down from its start, includes them
+        if (reversed == (from == null || fromInclusive)) startRow = HBaseGraphUtils.incrementBytes(startRow);
         Scan scan = new Scan(startRow, stopRow);
-        FilterList filterList = new FilterList();
-        filterList.addFilter(new PrefixFilter(prefix));
-        filterList.addFilter(new PageFilter(limit));
-        scan.setFilter(filterList);
+        scan.setFilter(new PrefixFilter(prefix));
         scan.setReversed(reversed);
         return scan;
     }
 
+    /**
+     * Whether the given loaded vertex still has the value of the index entry it was read from.
+     */
+    private static boolean isCurrent(HBaseVertex vertex, byte[] entryValue) {
+        byte[] propValueBytes = ValueUtils.serialize(vertex.getProperty(vertex.getIndexKey().propertyKey()));
+        return Bytes.equals(propValueBytes, entryValue);
+    }
+
+    /**
+     * The serialized value of the index entry with the given row key.
+     */
+    private static byte[] getValueBytes(byte[] row) {
+        PositionedByteRange buffer = new SimplePositionedByteRange(row);
+        buffer.get();  // discard salt
+        OrderedBytes.skip(buffer);  // label
+        OrderedBytes.skip(buffer);  // isUnique
+        OrderedBytes.skip(buffer);  // key
+        int start = buffer.getPosition();
+        ValueUtils.deserialize(buffer);
+        return Arrays.copyOfRange(row, start, buffer.getPosition());
+    }
+
     public byte[] serializeForRead(String label, boolean isUnique, String key, Object value) {
+        return serializeForRead(label, isUnique, key, value, 0);
+    }
+
+    private byte[] serializeForRead(String label, boolean isUnique, String key, Object value, int bucket) {
         PositionedByteRange buffer = new DynamicPositionedMutableByteRange(4096);
         byte[] prefix = serializePrefix(label, isUnique, key);
-        ValueUtils.serializeWithSalt(buffer, prefix);
+        buffer.put(getSalt(prefix, bucket));
+        buffer.put(prefix);
         if (value != null) {
             ValueUtils.serialize(buffer, value);
         }
@@ -182,11 +396,14 @@ public class VertexIndexModel extends BaseModel {
     public byte[] serializeForWrite(Vertex vertex, boolean isUnique, String key) {
         PositionedByteRange buffer = new DynamicPositionedMutableByteRange(4096);
         byte[] prefix = serializePrefix(vertex.label(), isUnique, key);
-        ValueUtils.serializeWithSalt(buffer, prefix);
-        ValueUtils.serialize(buffer, vertex.value(key));
-        if (!isUnique) {
-            ValueUtils.serialize(buffer, vertex.id());
-        }
+        byte[] valueBytes = ValueUtils.serialize(vertex.value(key));
+        byte[] idBytes = isUnique ? HConstants.EMPTY_BYTE_ARRAY : ValueUtils.serialize(vertex.id());
+        int valueBuckets = getValueBuckets(vertex.label(), key);
+        int bucket = valueBuckets > 1 ? ValueUtils.getSaltingByte(Bytes.add(valueBytes, idBytes), valueBuckets) & 0xff : 0;
+        buffer.put(getSalt(prefix, bucket));
+        buffer.put(prefix);
+        buffer.put(valueBytes);
+        buffer.put(idBytes);
         buffer.setLength(buffer.getPosition());
         buffer.setPosition(0);
         byte[] bytes = new byte[buffer.getRemaining()];
@@ -194,6 +411,15 @@ public class VertexIndexModel extends BaseModel {
         return bytes;
     }
 
+    /**
+     * The salt of the entries of an index in the given bucket, which is the salt of the
+     * index moved forward by the bucket.
+     */
+    private byte getSalt(byte[] prefix, int bucket) {
+        int salt = ValueUtils.getSaltingByte(prefix, graph.getSaltBuckets()) & 0xff;
+        return (byte) ((salt + bucket) % graph.getSaltBuckets());
+    }
+
     private byte[] serializePrefix(String label, boolean isUnique, String key) {
         PositionedByteRange buffer = new DynamicPositionedMutableByteRange(4096);
         OrderedBytes.encodeString(buffer, label, Order.ASCENDING);
@@ -7,9 +7,13 @@ import io.hgraphdb.mutators.Mutators;
 import io.hgraphdb.mutators.VertexRemover;
 import io.hgraphdb.mutators.VertexWriter;
 import io.hgraphdb.readers.VertexReader;
+import io.hgraphdb.util.ScanSizer;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -18,7 +22,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Set;
 
 public class VertexModel extends ElementModel {
 
@@ -32,36 +38,71 @@ public class VertexModel extends ElementModel {
         return new VertexReader(graph);
     }
 
+    @Override
+    protected ElementCache<HBaseVertex> getElementCache() {
+        return graph.getVertexCache();
+    }
+
     public void writeVertex(Vertex vertex) {
         Creator creator = new VertexWriter(graph, vertex);
-        Mutators.create(table, creator);
+        Mutators.create(table, groupCommit, creator);
+        invalidateRow(vertex);
+        NegativeVertexCache negativeVertexCache = graph.getNegativeVertexCache();
+        if (negativeVertexCache != null) negativeVertexCache.recordAdded(vertex.id());
+        LabelIndexModel labelIndexModel = graph.getLabelIndexModel();
+        if (labelIndexModel != null) labelIndexModel.writeLabelIndex(vertex);
     }
 
     public void deleteVertex(Vertex vertex) {
         Mutator writer = new VertexRemover(graph, vertex);
-        Mutators.write(table, writer);
+        Mutators.write(table, groupCommit, writer);
+        invalidateRow(vertex);
+        LabelIndexModel labelIndexModel = graph.getLabelIndexModel();
+        if (labelIndexModel != null) labelIndexModel.deleteLabelIndex(vertex);
     }
 
     public Iterator<Vertex> vertices() {
-        final VertexReader parser = new VertexReader(graph);
+        return vertices((Set<String>) null);
+    }
+
+    public Iterator<Vertex> vertices(Set<String> propertyKeys) {
+        final VertexReader parser = new VertexReader(graph, true);
 
         ResultScanner scanner = null;
         try {
-            scanner = table.getScanner(new Scan());
-            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
+            scanner = getScanner(project(new Scan(), propertyKeys), ScanSizer.Kind.FULL);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, result -> parser.parse(result, propertyKeys));
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    /**
+     * The serialized ids of all vertices, from a scan of the row keys only.
+     */
+    public Iterator<byte[]> idBytes() {
+        Scan scan = new Scan();
+        scan.setFilter(new FilterList(new FirstKeyOnlyFilter(), new KeyOnlyFilter()));
+        ResultScanner scanner = null;
+        try {
+            scanner = getScanner(scan);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, result -> {
+                byte[] row = result.getRow();
+                return Arrays.copyOfRange(row, 1, row.length);
+            });
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
     public Iterator<Vertex> vertices(Object fromId, int limit) {
-        final VertexReader parser = new VertexReader(graph);
+        final VertexReader parser = new VertexReader(graph, true);
 
-        Scan scan = fromId != null ? new Scan(ValueUtils.serializeWithSalt(fromId)) : new Scan();
+        Scan scan = fromId != null ? new Scan(ValueUtils.serializeWithSalt(fromId, graph.getSaltBuckets())) : new Scan();
         scan.setFilter(new PageFilter(limit));
         ResultScanner scanner = null;
         try {
-            scanner = table.getScanner(scan);
+            scanner = getOrderedScanner(scan, ScanSizer.Kind.FULL, limit);
             return CloseableIteratorUtils.limit(HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse), limit);
         } catch (IOException e) {
             throw new HBaseGraphException(e);
@@ -69,13 +110,17 @@ public class VertexModel extends ElementModel {
     }
 
     public Iterator<Vertex> vertices(String label) {
-        final VertexReader parser = new VertexReader(graph);
+        return vertices(label, null);
+    }
+
+    public Iterator<Vertex> vertices(String label, Set<String> propertyKeys) {
+        final VertexReader parser = new VertexReader(graph, true);
 
-        Scan scan = getPropertyScan(label);
+        Scan scan = project(getPropertyScan(label), propertyKeys);
         ResultScanner scanner = null;
         try {
-            scanner = table.getScanner(scan);
-            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
+            scanner = getScanner(scan, ScanSizer.Kind.LABEL);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, result -> parser.parse(result, propertyKeys));
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
@@ -95,13 +140,28 @@ public class VertexModel extends ElementModel {
         Scan scan = getPropertyScan(label, keyBytes, val);
         ResultScanner scanner = null;
         try {
-            scanner = table.getScanner(scan);
+            scanner = getScanner(scan, ScanSizer.Kind.LABEL);
             return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
+    public long count(String label, String key, Object value) {
+        ElementHelper.validateProperty(key, value);
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.VERTEX, label, key);
+        if (index != null) {
+            LOGGER.debug("Using vertex index for ({}, {})", label, key);
+            return graph.getVertexIndexModel().count(label, index.isUnique(), key, value);
+        }
+        byte[] val = ValueUtils.serializePropertyValue(graph, ElementType.VERTEX, label, key, value);
+        final byte[] keyBytes = Bytes.toBytes(key);
+        Scan scan = getPropertyScan(label, keyBytes, val);
+        scan.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.LABEL_BYTES);
+        scan.addColumn(Constants.DEFAULT_FAMILY_BYTES, keyBytes);
+        return countRows(scan);
+    }
+
     public Iterator<Vertex> verticesInRange(String label, String key, Object inclusiveFrom, Object exclusiveTo) {
         ElementHelper.validateProperty(key, inclusiveFrom);
         ElementHelper.validateProperty(key, exclusiveTo);
@@ -118,7 +178,41 @@ public class VertexModel extends ElementModel {
         Scan scan = getPropertyScan(label, keyBytes, fromVal, toVal);
         ResultScanner scanner = null;
         try {
-            scanner = table.getScanner(scan);
+            scanner = getOrderedScanner(scan, ScanSizer.Kind.LABEL, 0);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    public Iterator<Vertex> verticesInRange(String label, String key, Object from, boolean fromInclusive,
+                                            Object to, boolean toInclusive) {
+        if (from == null && to == null) {
+            throw new HBaseGraphNotValidException("Method verticesInRange requires at least one bound");
+        }
+        if (from != null) ElementHelper.validateProperty(key, from);
+        if (to != null) ElementHelper.validateProperty(key, to);
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.VERTEX, label, key);
+        if (index != null) {
+            LOGGER.debug("Using vertex index for ({}, {})", label, key);
+            return graph.getVertexIndexModel().verticesInRange(label, index.isUnique(), key,
+                    from, fromInclusive, to, toInclusive);
+        }
+        final VertexReader parser = new VertexReader(graph);
+
+        // an open bound is limited to values of the same type as the other bound
+        byte[] typeBytes = ValueUtils.serializeType(from != null ? from : to);
+        byte[] fromVal = from != null
+                ? ValueUtils.serializePropertyValue(graph, ElementType.VERTEX, label, key, from) : typeBytes;
+        byte[] toVal = to != null
+                ? ValueUtils.serializePropertyValue(graph, ElementType.VERTEX, label, key, to)
+                : HBaseGraphUtils.incrementBytes(typeBytes);
+        final byte[] keyBytes = Bytes.toBytes(key);
+        Scan scan = getPropertyScan(label, keyBytes, fromVal, from == null || fromInclusive,
+                toVal, to != null && toInclusive);
+        ResultScanner scanner = null;
+        try {
+            scanner = getOrderedScanner(scan, ScanSizer.Kind.LABEL, 0);
             return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
         } catch (IOException e) {
             throw new HBaseGraphException(e);
@@ -126,11 +220,16 @@ public class VertexModel extends ElementModel {
     }
 
     public Iterator<Vertex> verticesWithLimit(String label, String key, Object from, int limit, boolean reversed) {
+        return verticesWithLimit(label, key, from, true, limit, reversed);
+    }
+
+    public Iterator<Vertex> verticesWithLimit(String label, String key, Object from, boolean fromInclusive,
+                                              int limit, boolean reversed) {
         ElementHelper.validateProperty(key, from != null ? from : new Object());
         IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.VERTEX, label, key);
         if (index != null) {
             LOGGER.debug("Using vertex index for ({}, {})", label, key);
-            return graph.getVertexIndexModel().verticesWithLimit(label, index.isUnique(), key, from, limit, reversed);
+            return graph.getVertexIndexModel().verticesWithLimit(label, index.isUnique(), key, from, fromInclusive, limit, reversed);
         }
         throw new HBaseGraphNotValidException("Method verticesWithLimit requires an index be defined");
     }
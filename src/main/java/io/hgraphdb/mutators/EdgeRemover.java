@@ -21,7 +21,7 @@ public class EdgeRemover implements Mutator {
 
     @Override
     public Iterator<Mutation> constructMutations() {
-        Delete delete = new Delete(ValueUtils.serializeWithSalt(edge.id()));
+        Delete delete = new Delete(ValueUtils.serializeWithSalt(edge.id(), graph.getSaltBuckets()));
         return IteratorUtils.of(delete);
     }
 }
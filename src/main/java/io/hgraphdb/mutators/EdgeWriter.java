@@ -31,7 +31,7 @@ public class EdgeWriter implements Creator {
     @Override
     public Iterator<Put> constructInsertions() {
         final String label = edge.label() != null ? edge.label() : Edge.DEFAULT_LABEL;
-        Put put = new Put(ValueUtils.serializeWithSalt(edge.id()));
+        Put put = new Put(ValueUtils.serializeWithSalt(edge.id(), graph.getSaltBuckets()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.TO_BYTES,
                 ValueUtils.serialize(edge.inVertex().id()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.FROM_BYTES,
@@ -0,0 +1,176 @@
+package io.hgraphdb.mutators;
+
+import io.hgraphdb.HBaseGraphException;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Table;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gathers the writes of concurrent callers to one table into a single batch.  The first
+ * caller to arrive while no group is being gathered leads the group.  If no other group is
+ * being written, it sends the group at once; otherwise it waits for up to the window, until
+ * the groups being written are done, or until its group holds the maximum number of
+ * mutations.  It then sends the mutations of the whole group with one {@code batch} call,
+ * while the next group is being gathered.  Each caller blocks until its own mutations are
+ * written, and only sees the failures of its own mutations.
+ *
+ * <p>Only unconditional mutations are gathered.  Puts that must not overwrite an existing
+ * row are sent by their callers with a {@code checkAndPut} each, as conditional puts cannot
+ * be batched.
+ */
+public class GroupCommitWriter {
+
+    private final Table table;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Object lock = new Object();
+    private List<PendingWrite> pending = new ArrayList<>();
+    private int pendingMutations = 0;
+    private boolean gathering = false;
+    private int flushing = 0;
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    public GroupCommitWriter(Table table, long windowMicros, int maxBatchSize) {
+        this.table = table;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Write the given mutations as part of the next group.
+     *
+     * @return The results of the mutations
+     */
+    public Object[] batch(List<Mutation> mutations) {
+        if (mutations.isEmpty()) return new Object[0];
+        return submit(new PendingWrite(mutations));
+    }
+
+    /**
+     * The number of calls that have been gathered into groups.
+     */
+    public long getWriteCount() {
+        return writes.get();
+    }
+
+    /**
+     * The number of {@code batch} calls that have been sent for groups.
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    private Object[] submit(PendingWrite write) {
+        boolean leader;
+        synchronized (lock) {
+            pending.add(write);
+            pendingMutations += write.mutations.size();
+            leader = !gathering;
+            if (leader) {
+                gathering = true;
+            } else if (pendingMutations >= maxBatchSize) {
+                lock.notifyAll();
+            }
+        }
+        writes.incrementAndGet();
+        if (leader) {
+            List<PendingWrite> group = gather();
+            try {
+                flush(group);
+            } catch (Throwable t) {
+                // do not leave the rest of the group waiting
+                for (PendingWrite w : group) {
+                    w.completeExceptionally(t);
+                }
+            } finally {
+                synchronized (lock) {
+                    flushing--;
+                    lock.notifyAll();
+                }
+            }
+        }
+        try {
+            return write.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new HBaseGraphException(e.getCause());
+        }
+    }
+
+    private List<PendingWrite> gather() {
+        synchronized (lock) {
+            long deadline = System.nanoTime() + windowNanos;
+            try {
+                long remaining;
+                while (flushing > 0 && pendingMutations < maxBatchSize
+                        && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<PendingWrite> group = pending;
+            pending = new ArrayList<>();
+            pendingMutations = 0;
+            gathering = false;
+            flushing++;
+            return group;
+        }
+    }
+
+    private void flush(List<PendingWrite> group) {
+        List<Mutation> batch = new ArrayList<>();
+        for (PendingWrite write : group) {
+            batch.addAll(write.mutations);
+        }
+        Object[] results = new Object[batch.size()];
+        Exception failure = null;
+        try {
+            batches.incrementAndGet();
+            table.batch(batch, results);
+        } catch (IOException | InterruptedException e) {
+            // the results of the mutations that failed hold their own exceptions
+            failure = e;
+        }
+        int offset = 0;
+        for (PendingWrite write : group) {
+            int size = write.mutations.size();
+            Object[] own = new Object[size];
+            System.arraycopy(results, offset, own, 0, size);
+            offset += size;
+            Exception error = null;
+            for (Object result : own) {
+                if (result instanceof Exception) {
+                    error = (Exception) result;
+                    break;
+                } else if (result == null) {
+                    error = failure != null ? failure : new IOException("No result for mutation");
+                    break;
+                }
+            }
+            if (error != null) {
+                write.completeExceptionally(new HBaseGraphException(error));
+            } else {
+                write.complete(own);
+            }
+        }
+    }
+
+    private static class PendingWrite extends CompletableFuture<Object[]> {
+
+        private final List<Mutation> mutations;
+
+        PendingWrite(List<Mutation> mutations) {
+            this.mutations = mutations;
+        }
+    }
+}
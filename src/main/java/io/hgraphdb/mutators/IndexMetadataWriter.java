@@ -32,6 +32,8 @@ public class IndexMetadataWriter implements Creator, Mutator {
         Put put = new Put(graph.getIndexMetadataModel().serialize(index.key()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.UNIQUE_BYTES,
                 ValueUtils.serialize(index.isUnique()));
+        put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.VALUE_BUCKETS_BYTES,
+                ValueUtils.serialize(index.valueBuckets()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.INDEX_STATE_BYTES,
                 ValueUtils.serialize(index.state().toString()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES,
@@ -49,6 +51,8 @@ public class IndexMetadataWriter implements Creator, Mutator {
     @Override
     public Iterator<Mutation> constructMutations() {
         Put put = new Put(graph.getIndexMetadataModel().serialize(index.key()));
+        put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.VALUE_BUCKETS_BYTES,
+                ValueUtils.serialize(index.valueBuckets()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.INDEX_STATE_BYTES,
                 ValueUtils.serialize(index.state().toString()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.UPDATED_AT_BYTES,
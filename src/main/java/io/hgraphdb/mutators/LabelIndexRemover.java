@@ -0,0 +1,26 @@
+package io.hgraphdb.mutators;
+
+import io.hgraphdb.HBaseGraph;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Iterator;
+
+public class LabelIndexRemover implements Mutator {
+
+    private final HBaseGraph graph;
+    private final Element element;
+
+    public LabelIndexRemover(HBaseGraph graph, Element element) {
+        this.graph = graph;
+        this.element = element;
+    }
+
+    @Override
+    public Iterator<Mutation> constructMutations() {
+        Delete delete = new Delete(graph.getLabelIndexModel().serialize(element));
+        return IteratorUtils.of(delete);
+    }
+}
@@ -0,0 +1,31 @@
+package io.hgraphdb.mutators;
+
+import io.hgraphdb.Constants;
+import io.hgraphdb.HBaseElement;
+import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.ValueUtils;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Iterator;
+
+public class LabelIndexWriter implements Mutator {
+
+    private final HBaseGraph graph;
+    private final Element element;
+
+    public LabelIndexWriter(HBaseGraph graph, Element element) {
+        this.graph = graph;
+        this.element = element;
+    }
+
+    @Override
+    public Iterator<Mutation> constructMutations() {
+        Put put = new Put(graph.getLabelIndexModel().serialize(element));
+        put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES,
+                ValueUtils.serialize(((HBaseElement) element).createdAt()));
+        return IteratorUtils.of(put);
+    }
+}
@@ -21,6 +21,14 @@ public class Mutators {
     public static final String IS_UNIQUE = "isUnique";
 
     public static void create(Table table, Creator... creators) {
+        create(table, null, creators);
+    }
+
+    /**
+     * Create the elements of the given creators, as part of a group commit if a writer is given.
+     * Puts that must not overwrite an existing row are sent on their own, with a checkAndPut each.
+     */
+    public static void create(Table table, GroupCommitWriter groupCommit, Creator... creators) {
         List<Mutation> batch = new ArrayList<>();
         for (Creator creator : creators) {
             Iterator<Put> insertions = creator.constructInsertions();
@@ -34,7 +42,7 @@ public class Mutators {
                 }
             });
         }
-        write(table, batch);
+        write(table, groupCommit, batch);
     }
 
     private static void create(Table table, Creator creator, Put put) {
@@ -55,24 +63,32 @@ public class Mutators {
     }
 
     public static void write(Table table, Mutator... writers) {
+        write(table, null, writers);
+    }
+
+    /**
+     * Write the mutations of the given writers, as part of a group commit if a writer is given.
+     */
+    public static void write(Table table, GroupCommitWriter groupCommit, Mutator... writers) {
         List<Mutation> batch = new ArrayList<>();
         for (Mutator writer : writers) {
             writer.constructMutations().forEachRemaining(batch::add);
         }
-        write(table, batch);
+        write(table, groupCommit, batch);
     }
 
     public static long increment(Table table, Mutator writer, String key) {
         List<Mutation> batch = new ArrayList<>();
         writer.constructMutations().forEachRemaining(batch::add);
-        Object[] results = write(table, batch);
+        Object[] results = write(table, null, batch);
         // Increment result is the first
         Result result = (Result) results[0];
         Cell cell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Bytes.toBytes(key));
         return Bytes.toLong(CellUtil.cloneValue(cell));
     }
 
-    private static Object[] write(Table table, List<Mutation> mutations) {
+    private static Object[] write(Table table, GroupCommitWriter groupCommit, List<Mutation> mutations) {
+        if (groupCommit != null) return groupCommit.batch(mutations);
         Object[] results = new Object[mutations.size()];
         if (mutations.size() == 0) return results;
         try {
@@ -29,9 +29,9 @@ public class PropertyIncrementer implements Mutator {
 
     @Override
     public Iterator<Mutation> constructMutations() {
-        Increment incr = new Increment(ValueUtils.serializeWithSalt(element.id()));
+        Increment incr = new Increment(ValueUtils.serializeWithSalt(element.id(), graph.getSaltBuckets()));
         incr.addColumn(Constants.DEFAULT_FAMILY_BYTES, Bytes.toBytes(key), value);
-        Put put = new Put(ValueUtils.serializeWithSalt(element.id()));
+        Put put = new Put(ValueUtils.serializeWithSalt(element.id(), graph.getSaltBuckets()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.UPDATED_AT_BYTES,
                 ValueUtils.serialize(((HBaseElement) element).updatedAt()));
         return IteratorUtils.of(incr, put);
@@ -27,7 +27,7 @@ public class PropertyRemover implements Mutator {
 
     @Override
     public Iterator<Mutation> constructMutations() {
-        byte[] idBytes = ValueUtils.serializeWithSalt(element.id());
+        byte[] idBytes = ValueUtils.serializeWithSalt(element.id(), graph.getSaltBuckets());
         Delete delete = new Delete(idBytes);
         delete.addColumns(Constants.DEFAULT_FAMILY_BYTES, Bytes.toBytes(key));
         Put put = new Put(idBytes);
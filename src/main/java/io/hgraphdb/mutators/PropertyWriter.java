@@ -29,7 +29,7 @@ public class PropertyWriter implements Mutator {
     @Override
     public Iterator<Mutation> constructMutations() {
         byte[] bytes = ValueUtils.serializePropertyValue(graph, ((HBaseElement) element).getElementType(), element.label(), key, value);
-        Put put = new Put(ValueUtils.serializeWithSalt(element.id()));
+        Put put = new Put(ValueUtils.serializeWithSalt(element.id(), graph.getSaltBuckets()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Bytes.toBytes(key), bytes);
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.UPDATED_AT_BYTES,
                 ValueUtils.serialize(((HBaseElement) element).updatedAt()));
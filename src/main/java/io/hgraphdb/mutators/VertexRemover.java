@@ -21,7 +21,7 @@ public final class VertexRemover implements Mutator {
 
     @Override
     public Iterator<Mutation> constructMutations() {
-        Delete delete = new Delete(ValueUtils.serializeWithSalt(vertex.id()));
+        Delete delete = new Delete(ValueUtils.serializeWithSalt(vertex.id(), graph.getSaltBuckets()));
         return IteratorUtils.of(delete);
     }
 }
@@ -31,7 +31,7 @@ public final class VertexWriter implements Creator {
     @Override
     public Iterator<Put> constructInsertions() {
         final String label = vertex.label() != null ? vertex.label() : Vertex.DEFAULT_LABEL;
-        Put put = new Put(ValueUtils.serializeWithSalt(vertex.id()));
+        Put put = new Put(ValueUtils.serializeWithSalt(vertex.id(), graph.getSaltBuckets()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.LABEL_BYTES,
                 ValueUtils.serialize(label));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES,
@@ -0,0 +1,87 @@
+package io.hgraphdb.process.step.sideEffect;
+
+import io.hgraphdb.CloseableIteratorUtils;
+import io.hgraphdb.ElementType;
+import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.OperationType;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+/**
+ * Replaces {@code g.V().hasLabel(label).count()} and {@code g.E().hasLabel(label).count()},
+ * counting the rows of the backing tables without loading the elements.  Counts from an
+ * index are verified as the reads do, so stale entries are not counted.
+ */
+public final class HBaseCountStep<S> extends AbstractStep<S, Long> {
+
+    private static final long serialVersionUID = 8535906399199742781L;
+
+    private final Class<? extends Element> returnClass;
+    private final String label;
+    private final HasContainer hasContainer;
+    private boolean done = false;
+
+    /**
+     * @param label        The label to count, or null for all elements
+     * @param hasContainer An equality predicate on a vertex property, or null
+     */
+    public HBaseCountStep(final Traversal.Admin<?, ?> traversal, final Class<? extends Element> returnClass,
+                          final String label, final HasContainer hasContainer) {
+        super(traversal);
+        this.returnClass = returnClass;
+        this.label = label;
+        this.hasContainer = hasContainer;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Traverser.Admin<Long> processNextStart() {
+        if (this.done) {
+            throw FastNoSuchElementException.instance();
+        }
+        this.done = true;
+        return this.getTraversal().getTraverserGenerator().generate(count(), (Step) this, 1L);
+    }
+
+    private long count() {
+        final HBaseGraph graph = (HBaseGraph) this.getTraversal().getGraph().get();
+        if (!Vertex.class.isAssignableFrom(this.returnClass)) {
+            return this.label != null ? graph.countEdges(this.label) : graph.countEdges();
+        }
+        if (this.hasContainer != null) {
+            if (graph.hasIndex(OperationType.READ, ElementType.VERTEX, this.label, this.hasContainer.getKey())) {
+                return graph.countVertices(this.label, this.hasContainer.getKey(), this.hasContainer.getValue());
+            }
+            return IteratorUtils.count(CloseableIteratorUtils.filter(graph.verticesByLabel(this.label),
+                    vertex -> this.hasContainer.test(vertex)));
+        }
+        return this.label != null ? graph.countVertices(this.label) : graph.countVertices();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.done = false;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), this.label, this.hasContainer);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.returnClass.hashCode();
+        if (this.label != null) result ^= this.label.hashCode();
+        if (this.hasContainer != null) result ^= this.hasContainer.hashCode();
+        return result;
+    }
+}
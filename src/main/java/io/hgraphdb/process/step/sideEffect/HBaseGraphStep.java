@@ -3,7 +3,9 @@ package io.hgraphdb.process.step.sideEffect;
 import io.hgraphdb.CloseableIteratorUtils;
 import io.hgraphdb.ElementType;
 import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.HBaseGraphConfiguration;
 import io.hgraphdb.OperationType;
+import io.hgraphdb.ValueType;
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
@@ -22,6 +24,10 @@ import java.util.*;
 public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
 
     private final List<HasContainer> hasContainers = new ArrayList<>();
+    private String orderKey;
+    private boolean orderReversed;
+    private int orderLimit = -1;
+    private Set<String> propertyKeys;
 
     @SuppressWarnings("unchecked")
     public HBaseGraphStep(final GraphStep<S, E> originalGraphStep) {
@@ -33,7 +39,24 @@ public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E>
     private Iterator<? extends Edge> edges() {
         if (null == this.ids)
             return Collections.emptyIterator();
-        return CloseableIteratorUtils.filter(this.getTraversal().getGraph().get().edges(this.ids), edge -> HasContainer.testAll(edge, this.hasContainers));
+        final HBaseGraph graph = (HBaseGraph) this.getTraversal().getGraph().get();
+        if (this.ids.length == 0) {
+            // find the edges by label
+            Optional<String> label = getLabel(this.hasContainers);
+            if (label.isPresent()) {
+                return CloseableIteratorUtils.filter(graph.edgesByLabel(label.get(), this.propertyKeys),
+                        edge -> HasContainer.testAll(edge, this.hasContainers));
+            }
+        }
+        return CloseableIteratorUtils.filter(graph.edges(this.ids, this.propertyKeys), edge -> HasContainer.testAll(edge, this.hasContainers));
+    }
+
+    private static Optional<String> getLabel(final List<HasContainer> hasContainers) {
+        return hasContainers.stream()
+                .filter(hasContainer -> hasContainer.getKey().equals(T.label.getAccessor()))
+                .filter(hasContainer -> Compare.eq == hasContainer.getBiPredicate())
+                .map(hasContainer -> (String) hasContainer.getValue())
+                .findAny();
     }
 
     private Iterator<? extends Vertex> vertices() {
@@ -46,15 +69,29 @@ public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E>
     private Iterator<Vertex> lookupVertices(final HBaseGraph graph, final List<HasContainer> hasContainers, final Object... ids) {
         // ids are present, filter on them first
         if (ids.length > 0)
-            return CloseableIteratorUtils.filter(graph.vertices(ids), vertex -> HasContainer.testAll(vertex, hasContainers));
+            return CloseableIteratorUtils.filter(graph.vertices(ids, this.propertyKeys), vertex -> HasContainer.testAll(vertex, hasContainers));
         ////// do index lookups //////
         // get a label being search on
-        Optional<String> label = hasContainers.stream()
-                .filter(hasContainer -> hasContainer.getKey().equals(T.label.getAccessor()))
-                .filter(hasContainer -> Compare.eq == hasContainer.getBiPredicate())
-                .map(hasContainer -> (String) hasContainer.getValue())
-                .findAny();
+        Optional<String> label = getLabel(hasContainers);
         if (label.isPresent()) {
+            // find the first vertices by label in key order, from a bound on the key if any
+            if (this.orderKey != null && isIndexOrdered(graph, label.get()) && isOrderKeyRange(hasContainers)) {
+                if (hasContainers.size() == 1) {
+                    return graph.verticesWithLimit(label.get(), this.orderKey, null, this.orderLimit, this.orderReversed);
+                }
+                final Optional<IndexRange> range = IndexRange.find(hasContainers, this.orderKey::equals,
+                        key -> graph.getPropertyType(ElementType.VERTEX, label.get(), key));
+                if (range.isPresent()) {
+                    // the bound in the order of the scan is where it starts; the first vertices
+                    // past the other bound are past all vertices within it, so they are dropped
+                    final IndexRange r = range.get();
+                    final Object from = this.orderReversed ? r.getTo() : r.getFrom();
+                    final boolean fromInclusive = from == null || (this.orderReversed ? r.isToInclusive() : r.isFromInclusive());
+                    return CloseableIteratorUtils.filter(graph.verticesWithLimit(label.get(), this.orderKey,
+                            from, fromInclusive, this.orderLimit, this.orderReversed),
+                            vertex -> HasContainer.testAll(vertex, hasContainers));
+                }
+            }
             // find a vertex by label and key/value
             for (final HasContainer hasContainer : hasContainers) {
                 if (Compare.eq == hasContainer.getBiPredicate() && !hasContainer.getKey().equals(T.label.getAccessor())) {
@@ -64,13 +101,74 @@ public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E>
                     }
                 }
             }
+            // find a vertex by label and key/value range
+            Optional<IndexRange> range = IndexRange.find(hasContainers,
+                    key -> graph.hasIndex(OperationType.READ, ElementType.VERTEX, label.get(), key),
+                    key -> graph.getPropertyType(ElementType.VERTEX, label.get(), key));
+            if (range.isPresent()) {
+                final IndexRange r = range.get();
+                return CloseableIteratorUtils.filter(graph.verticesInRange(label.get(), r.getKey(),
+                        r.getFrom(), r.isFromInclusive(), r.getTo(), r.isToInclusive()),
+                        vertex -> HasContainer.testAll(vertex, hasContainers));
+            }
             // find a vertex by label
-            return IteratorUtils.stream(graph.verticesByLabel(label.get()))
+            return IteratorUtils.stream(graph.verticesByLabel(label.get(), this.propertyKeys))
                     .filter(vertex -> HasContainer.testAll(vertex, hasContainers)).iterator();
         } else {
             // linear scan
-            return CloseableIteratorUtils.filter(graph.vertices(), vertex -> HasContainer.testAll(vertex, hasContainers));
+            return CloseableIteratorUtils.filter(graph.allVertices(this.propertyKeys), vertex -> HasContainer.testAll(vertex, hasContainers));
+        }
+    }
+
+    /**
+     * Whether the vertices with the given label can be read in the order of the order key from
+     * its index.  Index entries are grouped by the type of their values before the values
+     * themselves, while numbers of different types are ordered together, so only a key whose
+     * values are declared to be of a single type is read in index order.
+     */
+    private boolean isIndexOrdered(final HBaseGraph graph, final String label) {
+        if (!graph.hasIndex(OperationType.READ, ElementType.VERTEX, label, this.orderKey)) return false;
+        if (this.orderReversed && graph.configuration().getInstanceType() == HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            return false;
+        }
+        final ValueType type = graph.getPropertyType(ElementType.VERTEX, label, this.orderKey);
+        return type != null && type != ValueType.ANY;
+    }
+
+    /**
+     * Whether the has-containers other than that of the label are ranges on the order key.
+     */
+    private boolean isOrderKeyRange(final List<HasContainer> hasContainers) {
+        for (final HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getKey().equals(T.label.getAccessor())) {
+                if (Compare.eq != hasContainer.getBiPredicate()) return false;
+            } else if (!hasContainer.getKey().equals(this.orderKey) || !IndexRange.isRange(hasContainer)) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    /**
+     * Hint that only the first {@code limit} elements in the order of the given key are needed,
+     * so that they may be read from an index in that order.  The order and range steps that
+     * follow are kept, as the index may not be used.  Stale index entries are skipped while
+     * reading, so the index is read past the limit until that many current entries are found.
+     * Elements without the key have no entry, and are not read; ordering them by the key
+     * would fail anyway.
+     */
+    public void setOrderLimit(final String key, final boolean reversed, final int limit) {
+        this.orderKey = key;
+        this.orderReversed = reversed;
+        this.orderLimit = limit;
+    }
+
+    /**
+     * Restrict the properties read for the elements of this step to the given keys,
+     * which are all that the traversal uses.  Other properties are loaded on access.
+     */
+    public void setPropertyKeys(final Set<String> propertyKeys) {
+        this.propertyKeys = propertyKeys;
     }
 
     @Override
@@ -0,0 +1,64 @@
+package io.hgraphdb.process.step.sideEffect;
+
+import io.hgraphdb.HBaseVertex;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Replaces a vertex step that is followed by {@code count()}.  Each vertex is passed on
+ * with its bulk multiplied by the number of its edges, which are counted from the
+ * adjacency rows without loading whole edges.
+ */
+public final class HBaseVertexCountStep extends AbstractStep<Vertex, Vertex> {
+
+    private static final long serialVersionUID = -2484559092431848401L;
+
+    private final Direction direction;
+    private final String[] edgeLabels;
+
+    public HBaseVertexCountStep(final Traversal.Admin<?, ?> traversal, final Direction direction, final String... edgeLabels) {
+        super(traversal);
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+    }
+
+    @Override
+    protected Traverser.Admin<Vertex> processNextStart() {
+        while (true) {
+            final Traverser.Admin<Vertex> traverser = this.starts.next();
+            final Vertex vertex = traverser.get();
+            final long count = vertex instanceof HBaseVertex
+                    ? ((HBaseVertex) vertex).countEdges(this.direction, this.edgeLabels)
+                    : IteratorUtils.count(vertex.edges(this.direction, this.edgeLabels));
+            if (count > 0) {
+                traverser.setBulk(traverser.bulk() * count);
+                return traverser;
+            }
+        }
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.BULK);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.direction, Arrays.asList(this.edgeLabels));
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.direction.hashCode() ^ Arrays.hashCode(this.edgeLabels);
+    }
+}
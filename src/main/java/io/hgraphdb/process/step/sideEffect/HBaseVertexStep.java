@@ -3,17 +3,21 @@ package io.hgraphdb.process.step.sideEffect;
 import io.hgraphdb.CloseableIteratorUtils;
 import io.hgraphdb.ElementType;
 import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.HBaseGraphConfiguration;
 import io.hgraphdb.HBaseVertex;
 import io.hgraphdb.OperationType;
+import io.hgraphdb.ValueType;
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -22,10 +26,17 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 public final class HBaseVertexStep<E extends Element> extends VertexStep<E> implements HasContainerHolder {
 
     private final List<HasContainer> hasContainers = new ArrayList<>();
+    private final List<HasContainer> edgeHasContainers = new ArrayList<>();
+    private String orderKey;
+    private boolean orderReversed;
+    private int orderLimit = -1;
+    private int batchSize = -1;
+    private Iterator<Traverser.Admin<E>> batch = Collections.emptyIterator();
 
     @SuppressWarnings("unchecked")
     public HBaseVertexStep(final VertexStep<E> originalVertexStep) {
@@ -41,7 +52,70 @@ public final class HBaseVertexStep<E extends Element> extends VertexStep<E> impl
                 (Iterator<E>) lookupEdges(traverser, this.hasContainers);
     }
 
+    @Override
+    protected Traverser.Admin<E> processNextStart() {
+        final HBaseGraph graph = (HBaseGraph) this.getTraversal().getGraph().orElse(null);
+        if (this.batchSize < 0) {
+            this.batchSize = graph != null ? graph.configuration().getVertexStepBatchSize() : 1;
+        }
+        if (this.batchSize <= 1 && !this.batch.hasNext()) {
+            return super.processNextStart();
+        }
+        while (true) {
+            if (this.batch.hasNext()) {
+                return this.batch.next();
+            }
+            this.batch = nextBatch(graph, Math.max(this.batchSize, 1));
+        }
+    }
+
+    /**
+     * Collect up to {@code batchSize} incoming traversers and expand them together,
+     * fetching the adjacency of all their vertices with a single scan.
+     */
+    @SuppressWarnings("unchecked")
+    private Iterator<Traverser.Admin<E>> nextBatch(final HBaseGraph graph, final int batchSize) {
+        final List<Traverser.Admin<Vertex>> traversers = new ArrayList<>(batchSize);
+        traversers.add(this.starts.next());
+        while (traversers.size() < batchSize && this.starts.hasNext()) {
+            traversers.add(this.starts.next());
+        }
+        final boolean returnsVertex = Vertex.class.isAssignableFrom(getReturnClass());
+        final List<HBaseVertex> vertices = new ArrayList<>(traversers.size());
+        for (final Traverser.Admin<Vertex> traverser : traversers) {
+            if (traverser.get() instanceof HBaseVertex) {
+                vertices.add((HBaseVertex) traverser.get());
+            }
+        }
+        final boolean canBatch = vertices.size() == traversers.size() && !hasIndexLookup(graph);
+        final Map<Object, ? extends List<? extends Element>> adjacency = !canBatch ? null : returnsVertex
+                ? graph.getEdgeIndexModel().vertices(vertices, getDirection(), getEdgeLabels())
+                : graph.getEdgeIndexModel().edges(vertices, getDirection(), getEdgeLabels());
+        // split the traversers lazily, as the consumer pulls them
+        return CloseableIteratorUtils.flatMap(traversers.iterator(), traverser -> {
+            final Iterator<E> elements = canBatch
+                    ? CloseableIteratorUtils.filter((Iterator<E>) adjacency.get(traverser.get().id()).iterator(),
+                            element -> HasContainer.testAll(element, this.hasContainers))
+                    : flatMap(traverser);
+            return CloseableIteratorUtils.map(elements, element -> traverser.split(element, this));
+        });
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        CloseableIterator.closeIterator(this.batch);
+        this.batch = Collections.emptyIterator();
+    }
+
     private Iterator<Vertex> lookupVertices(final Traverser.Admin<Vertex> traverser, final List<HasContainer> hasContainers) {
+        if (!this.edgeHasContainers.isEmpty()) {
+            final HBaseGraph graph = (HBaseGraph) this.getTraversal().getGraph().get();
+            final Iterator<Edge> edges = lookupEdges(traverser, this.edgeHasContainers);
+            return CloseableIteratorUtils.filter(graph.getEdgeIndexModel().vertices((HBaseVertex) traverser.get(), edges),
+                    vertex -> HasContainer.testAll(vertex, hasContainers));
+        }
+
         // linear scan
         return CloseableIteratorUtils.filter(traverser.get().vertices(getDirection(), getEdgeLabels()),
                 vertex -> HasContainer.testAll(vertex, hasContainers));
@@ -49,30 +123,97 @@ public final class HBaseVertexStep<E extends Element> extends VertexStep<E> impl
 
     private Iterator<Edge> lookupEdges(final Traverser.Admin<Vertex> traverser, final List<HasContainer> hasContainers) {
         final HBaseGraph graph = (HBaseGraph) this.getTraversal().getGraph().get();
+        // find an edge by label and key/value
+        final HasContainer hasContainer = findEdgeIndex(graph, hasContainers);
+        if (hasContainer != null) {
+            return IteratorUtils.stream(((HBaseVertex) traverser.get()).edges(getDirection(), getEdgeLabels()[0], hasContainer.getKey(), hasContainer.getValue()))
+                    .filter(vertex -> HasContainer.testAll(vertex, hasContainers)).iterator();
+        }
+
+        // find edges by label and key range
+        final IndexRange range = findEdgeRange(graph, hasContainers);
+        if (range != null) {
+            return CloseableIteratorUtils.filter(((HBaseVertex) traverser.get()).edgesInRange(getDirection(), getEdgeLabels()[0],
+                    range.getKey(), range.getFrom(), range.isFromInclusive(), range.getTo(), range.isToInclusive()),
+                    edge -> HasContainer.testAll(edge, hasContainers));
+        }
+
+        // find the first edges by label in key order
+        if (hasOrderLimit(graph, hasContainers)) {
+            return ((HBaseVertex) traverser.get()).edgesWithLimit(getDirection(), getEdgeLabels()[0],
+                    this.orderKey, null, this.orderLimit, this.orderReversed);
+        }
+
+        // linear scan
+        return CloseableIteratorUtils.filter(traverser.get().edges(getDirection(), getEdgeLabels()),
+                edge -> HasContainer.testAll(edge, hasContainers));
+    }
+
+    private boolean hasIndexLookup(final HBaseGraph graph) {
+        if (Vertex.class.isAssignableFrom(getReturnClass())) return !this.edgeHasContainers.isEmpty();
+        return findEdgeIndex(graph, this.hasContainers) != null || findEdgeRange(graph, this.hasContainers) != null
+                || hasOrderLimit(graph, this.hasContainers);
+    }
+
+    private HasContainer findEdgeIndex(final HBaseGraph graph, final List<HasContainer> hasContainers) {
         if (getEdgeLabels().length == 1) {
             final String label = getEdgeLabels()[0];
-            // find an edge by label and key/value
             for (final HasContainer hasContainer : hasContainers) {
                 if (Compare.eq == hasContainer.getBiPredicate() && !hasContainer.getKey().equals(T.label.getAccessor())) {
                     if (graph.hasIndex(OperationType.READ, ElementType.EDGE, label, hasContainer.getKey())) {
-                        return IteratorUtils.stream(((HBaseVertex) traverser.get()).edges(getDirection(), label, hasContainer.getKey(), hasContainer.getValue()))
-                                .filter(vertex -> HasContainer.testAll(vertex, hasContainers)).iterator();
+                        return hasContainer;
                     }
                 }
             }
         }
+        return null;
+    }
 
-        // linear scan
-        return CloseableIteratorUtils.filter(traverser.get().edges(getDirection(), getEdgeLabels()),
-                edge -> HasContainer.testAll(edge, hasContainers));
+    private IndexRange findEdgeRange(final HBaseGraph graph, final List<HasContainer> hasContainers) {
+        if (getEdgeLabels().length != 1 || getDirection() == Direction.BOTH) return null;
+        final String label = getEdgeLabels()[0];
+        return IndexRange.find(hasContainers, key -> graph.hasIndex(OperationType.READ, ElementType.EDGE, label, key),
+                key -> graph.getPropertyType(ElementType.EDGE, label, key)).orElse(null);
+    }
+
+    /**
+     * Whether the edges can be read in the order of the order key from its index.  Index
+     * entries are grouped by the type of their values before the values themselves, while
+     * numbers of different types are ordered together, so only a key whose values are
+     * declared to be of a single type is read in index order.
+     */
+    private boolean hasOrderLimit(final HBaseGraph graph, final List<HasContainer> hasContainers) {
+        if (this.orderKey == null || !hasContainers.isEmpty()
+                || getEdgeLabels().length != 1 || getDirection() == Direction.BOTH) {
+            return false;
+        }
+        final String label = getEdgeLabels()[0];
+        if (!graph.hasIndex(OperationType.READ, ElementType.EDGE, label, this.orderKey)) return false;
+        if (this.orderReversed && graph.configuration().getInstanceType() == HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            return false;
+        }
+        final ValueType type = graph.getPropertyType(ElementType.EDGE, label, this.orderKey);
+        return type != null && type != ValueType.ANY;
+    }
+
+    /**
+     * Hint that this step is followed by an {@code order().by(key).limit(limit)}, so the first
+     * edges in index order may be read instead of all of them.
+     */
+    public void setOrderLimit(final String key, final boolean reversed, final int limit) {
+        this.orderKey = key;
+        this.orderReversed = reversed;
+        this.orderLimit = limit;
     }
 
     @Override
     public String toString() {
-        if (this.hasContainers.isEmpty())
+        if (this.hasContainers.isEmpty() && this.edgeHasContainers.isEmpty())
             return super.toString();
-        else
+        else if (this.edgeHasContainers.isEmpty())
             return StringFactory.stepString(this, getDirection(), Arrays.asList(getEdgeLabels()), getReturnClass().getSimpleName().toLowerCase(), this.hasContainers);
+        else
+            return StringFactory.stepString(this, getDirection(), Arrays.asList(getEdgeLabels()), getReturnClass().getSimpleName().toLowerCase(), this.edgeHasContainers, this.hasContainers);
     }
 
     @Override
@@ -85,8 +226,19 @@ public final class HBaseVertexStep<E extends Element> extends VertexStep<E> impl
         this.hasContainers.add(hasContainer);
     }
 
+    public List<HasContainer> getEdgeHasContainers() {
+        return Collections.unmodifiableList(this.edgeHasContainers);
+    }
+
+    /**
+     * Add a predicate on the edges traversed by a vertex-returning step.
+     */
+    public void addEdgeHasContainer(final HasContainer hasContainer) {
+        this.edgeHasContainers.add(hasContainer);
+    }
+
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.hasContainers.hashCode();
+        return super.hashCode() ^ this.hasContainers.hashCode() ^ this.edgeHasContainers.hashCode();
     }
 }
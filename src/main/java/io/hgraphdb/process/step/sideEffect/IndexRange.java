@@ -0,0 +1,131 @@
+package io.hgraphdb.process.step.sideEffect;
+
+import io.hgraphdb.ValueType;
+import io.hgraphdb.ValueUtils;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A range over the values of a single property key, derived from the
+ * {@code gt}, {@code gte}, {@code lt} and {@code lte} has-containers of a step.
+ * Bounds are compared in their serialized form, which is the order of the index.
+ * Values of each type are kept apart in the index, so a numeric range is only
+ * derived for a key whose values are declared to be of the type of its bounds;
+ * otherwise values of other numeric types that the predicates accept would be missed.
+ */
+public final class IndexRange {
+
+    private final String key;
+    private Object from;
+    private boolean fromInclusive;
+    private Object to;
+    private boolean toInclusive;
+
+    private IndexRange(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Object getFrom() {
+        return from;
+    }
+
+    public boolean isFromInclusive() {
+        return fromInclusive;
+    }
+
+    public Object getTo() {
+        return to;
+    }
+
+    public boolean isToInclusive() {
+        return toInclusive;
+    }
+
+    /**
+     * Find the range of the first key accepted by {@code isIndexed}.  Keys whose
+     * bounds are not all of the same type are skipped, as their values do not
+     * share an ordering in the index.  So are keys with numeric bounds whose
+     * declared type, as given by {@code valueType}, is unknown or another type.
+     */
+    public static Optional<IndexRange> find(List<HasContainer> hasContainers, Predicate<String> isIndexed,
+                                            Function<String, ValueType> valueType) {
+        Map<String, List<HasContainer>> byKey = new LinkedHashMap<>();
+        for (HasContainer hasContainer : hasContainers) {
+            if (isRange(hasContainer)) {
+                byKey.computeIfAbsent(hasContainer.getKey(), k -> new ArrayList<>()).add(hasContainer);
+            }
+        }
+        for (Map.Entry<String, List<HasContainer>> entry : byKey.entrySet()) {
+            if (!isIndexed.test(entry.getKey())) continue;
+            IndexRange range = new IndexRange(entry.getKey());
+            if (range.intersect(entry.getValue(), valueType.apply(entry.getKey()))) {
+                return Optional.of(range);
+            }
+        }
+        return Optional.empty();
+    }
+
+    static boolean isRange(HasContainer hasContainer) {
+        if (hasContainer.getKey().equals(T.label.getAccessor()) || hasContainer.getKey().equals(T.id.getAccessor())) {
+            return false;
+        }
+        if (hasContainer.getValue() == null) return false;
+        return Compare.gt == hasContainer.getBiPredicate() || Compare.gte == hasContainer.getBiPredicate()
+                || Compare.lt == hasContainer.getBiPredicate() || Compare.lte == hasContainer.getBiPredicate();
+    }
+
+    private boolean intersect(List<HasContainer> hasContainers, ValueType declaredType) {
+        byte[] type = null;
+        byte[] fromBytes = null;
+        byte[] toBytes = null;
+        for (HasContainer hasContainer : hasContainers) {
+            Object value = hasContainer.getValue();
+            if (value instanceof Number && !isDeclaredType(value, declaredType)) {
+                return false;
+            }
+            byte[] valueType = ValueUtils.serializeType(value);
+            if (type == null) {
+                type = valueType;
+            } else if (!Bytes.equals(type, valueType)) {
+                return false;
+            }
+            byte[] bytes = ValueUtils.serialize(value);
+            boolean inclusive = Compare.gte == hasContainer.getBiPredicate() || Compare.lte == hasContainer.getBiPredicate();
+            if (Compare.gt == hasContainer.getBiPredicate() || Compare.gte == hasContainer.getBiPredicate()) {
+                int compare = fromBytes == null ? 1 : Bytes.compareTo(bytes, fromBytes);
+                if (compare > 0 || (compare == 0 && !inclusive)) {
+                    from = value;
+                    fromBytes = bytes;
+                    fromInclusive = inclusive;
+                }
+            } else {
+                int compare = toBytes == null ? -1 : Bytes.compareTo(bytes, toBytes);
+                if (compare < 0 || (compare == 0 && !inclusive)) {
+                    to = value;
+                    toBytes = bytes;
+                    toInclusive = inclusive;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDeclaredType(Object value, ValueType declaredType) {
+        ValueType valueType = ValueUtils.getValueType(value);
+        return valueType == declaredType || (declaredType == ValueType.COUNTER && valueType == ValueType.LONG);
+    }
+}
@@ -0,0 +1,98 @@
+package io.hgraphdb.process.strategy.optimization;
+
+import io.hgraphdb.process.step.sideEffect.HBaseCountStep;
+import io.hgraphdb.process.step.sideEffect.HBaseGraphStep;
+import io.hgraphdb.process.step.sideEffect.HBaseVertexCountStep;
+import io.hgraphdb.process.step.sideEffect.HBaseVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Answers {@code count()} from key-only scans, or from index and adjacency scans verified with
+ * narrow loads, where the counted elements need not be loaded whole:
+ * {@code g.V().hasLabel(label).count()}, optionally with an equality predicate on an indexed key,
+ * and {@code outE(label).count()} or {@code out(label).count()} after any traversal.
+ */
+public final class HBaseCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final long serialVersionUID = 4998151452913010836L;
+
+    private static final HBaseCountStrategy INSTANCE = new HBaseCountStrategy();
+
+    private static final Set<Class<? extends ProviderOptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            HBaseGraphStepStrategy.class, HBaseVertexStepStrategy.class));
+
+    private HBaseCountStrategy() {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        for (final HBaseGraphStep<?, ?> graphStep : TraversalHelper.getStepsOfClass(HBaseGraphStep.class, traversal)) {
+            final Step<?, ?> countStep = nextStep(graphStep);
+            if (!(countStep instanceof CountGlobalStep) || !graphStep.isStartStep()
+                    || graphStep.getIds() == null || graphStep.getIds().length > 0 || !graphStep.getLabels().isEmpty()) continue;
+            String label = null;
+            HasContainer keyContainer = null;
+            boolean pushdown = true;
+            for (final HasContainer hasContainer : graphStep.getHasContainers()) {
+                if (Compare.eq != hasContainer.getBiPredicate() || hasContainer.getKey().equals(T.id.getAccessor())) {
+                    pushdown = false;
+                } else if (hasContainer.getKey().equals(T.label.getAccessor())) {
+                    if (label != null || !(hasContainer.getValue() instanceof String)) pushdown = false;
+                    label = (String) hasContainer.getValue();
+                } else {
+                    if (keyContainer != null || !Vertex.class.isAssignableFrom(graphStep.getReturnClass())) pushdown = false;
+                    keyContainer = hasContainer;
+                }
+            }
+            if (!pushdown || (keyContainer != null && label == null)) continue;
+            final HBaseCountStep<?> hbaseCountStep = new HBaseCountStep<>(traversal, graphStep.getReturnClass(), label, keyContainer);
+            countStep.getLabels().forEach(hbaseCountStep::addLabel);
+            Step<?, ?> step = graphStep;
+            while (step != countStep) {
+                final Step<?, ?> next = step.getNextStep();
+                traversal.removeStep(step);
+                step = next;
+            }
+            traversal.removeStep(countStep);
+            traversal.addStep(0, hbaseCountStep);
+        }
+        for (final HBaseVertexStep<?> vertexStep : TraversalHelper.getStepsOfClass(HBaseVertexStep.class, traversal)) {
+            if (!(nextStep(vertexStep) instanceof CountGlobalStep) || !vertexStep.getLabels().isEmpty()
+                    || !vertexStep.getHasContainers().isEmpty() || !vertexStep.getEdgeHasContainers().isEmpty()) continue;
+            TraversalHelper.replaceStep((Step) vertexStep,
+                    new HBaseVertexCountStep(traversal, vertexStep.getDirection(), vertexStep.getEdgeLabels()), traversal);
+        }
+    }
+
+    private static Step<?, ?> nextStep(final Step<?, ?> step) {
+        Step<?, ?> nextStep = step.getNextStep();
+        while (nextStep instanceof NoOpBarrierStep) {
+            nextStep = nextStep.getNextStep();
+        }
+        return nextStep;
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static HBaseCountStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -1,16 +1,23 @@
 package io.hgraphdb.process.strategy.optimization;
 
 import io.hgraphdb.process.step.sideEffect.HBaseGraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ElementValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.javatuples.Pair;
+
+import java.util.Comparator;
 
 public final class HBaseGraphStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
 
@@ -37,9 +44,29 @@ public final class HBaseGraphStepStrategy extends AbstractTraversalStrategy<Trav
                 }
                 currentStep = currentStep.getNextStep();
             }
+            if (currentStep instanceof OrderGlobalStep && currentStep.getNextStep() instanceof RangeGlobalStep) {
+                applyOrderLimit((OrderGlobalStep<?, ?>) currentStep, (RangeGlobalStep<?>) currentStep.getNextStep(),
+                        hbaseGraphStep::setOrderLimit);
+            }
         }
     }
 
+    static void applyOrderLimit(final OrderGlobalStep<?, ?> orderStep, final RangeGlobalStep<?> rangeStep,
+                                final OrderLimitHint hint) {
+        if (orderStep.getComparators().size() != 1) return;
+        final Pair<? extends Traversal.Admin<?, ?>, ? extends Comparator<?>> comparator = orderStep.getComparators().get(0);
+        if (!(comparator.getValue0() instanceof ElementValueTraversal)) return;
+        if (comparator.getValue1() != Order.incr && comparator.getValue1() != Order.decr) return;
+        final long high = rangeStep.getHighRange();
+        if (high < 0 || high > Integer.MAX_VALUE) return;
+        hint.setOrderLimit(((ElementValueTraversal<?>) comparator.getValue0()).getPropertyKey(),
+                comparator.getValue1() == Order.decr, (int) high);
+    }
+
+    interface OrderLimitHint {
+        void setOrderLimit(String key, boolean reversed, int limit);
+    }
+
     public static HBaseGraphStepStrategy instance() {
         return INSTANCE;
     }
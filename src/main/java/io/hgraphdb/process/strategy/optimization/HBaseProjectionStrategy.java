@@ -0,0 +1,151 @@
+package io.hgraphdb.process.strategy.optimization;
+
+import io.hgraphdb.process.step.sideEffect.HBaseGraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.AbstractLambdaTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ColumnTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ConstantTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ElementValueTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.TrueTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MaxGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MeanGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MinGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SubgraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.PropertyType;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.javatuples.Pair;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Restricts the columns read by the graph steps of a traversal that returns only property
+ * values, ids, labels or aggregates to the property keys used anywhere in the traversal.
+ * Traversals containing lambdas, or steps that may read every property, are left alone.
+ */
+public final class HBaseProjectionStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final long serialVersionUID = 5015267056605638673L;
+
+    private static final HBaseProjectionStrategy INSTANCE = new HBaseProjectionStrategy();
+
+    private static final Set<Class<? extends ProviderOptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            HBaseGraphStepStrategy.class, HBaseVertexStepStrategy.class, HBaseCountStrategy.class));
+
+    // end steps whose output holds no elements
+    private static final Set<Class<?>> END_STEP_CLASSES = new HashSet<>(Arrays.asList(
+            PropertyMapStep.class, IdStep.class, LabelStep.class, CountGlobalStep.class,
+            SumGlobalStep.class, MaxGlobalStep.class, MinGlobalStep.class, MeanGlobalStep.class));
+
+    // lambda traversals that do not read properties
+    private static final Set<Class<?>> KEYLESS_LAMBDA_CLASSES = new HashSet<>(Arrays.asList(
+            ColumnTraversal.class, ConstantTraversal.class, IdentityTraversal.class,
+            LoopTraversal.class, TokenTraversal.class, TrueTraversal.class));
+
+    private HBaseProjectionStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        // the key analysis covers the whole traversal, so run it once from the root
+        if (!(traversal.getParent() instanceof EmptyStep)) return;
+        if (!hasKeylessOutput(traversal.getEndStep())) return;
+        final Set<String> propertyKeys = new HashSet<>();
+        if (!collectPropertyKeys(traversal, propertyKeys)) return;
+        for (final HBaseGraphStep<?, ?> graphStep : TraversalHelper.getStepsOfClass(HBaseGraphStep.class, traversal)) {
+            graphStep.setPropertyKeys(propertyKeys);
+        }
+    }
+
+    private static boolean hasKeylessOutput(final Step<?, ?> endStep) {
+        if (endStep instanceof PropertiesStep) {
+            return ((PropertiesStep<?>) endStep).getReturnType() == PropertyType.VALUE;
+        }
+        return END_STEP_CLASSES.contains(endStep.getClass());
+    }
+
+    /**
+     * Add the property keys used by the traversal and its children.
+     *
+     * @return false if the traversal may use properties that cannot be determined
+     */
+    private static boolean collectPropertyKeys(final Traversal.Admin<?, ?> traversal, final Set<String> propertyKeys) {
+        if (traversal instanceof AbstractLambdaTraversal) {
+            if (traversal instanceof ElementValueTraversal) {
+                propertyKeys.add(((ElementValueTraversal<?>) traversal).getPropertyKey());
+                return true;
+            }
+            return KEYLESS_LAMBDA_CLASSES.contains(traversal.getClass());
+        }
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof LambdaHolder || step instanceof SubgraphStep) {
+                return false;
+            }
+            if (step instanceof PropertiesStep) {
+                final String[] keys = ((PropertiesStep<?>) step).getPropertyKeys();
+                if (keys.length == 0) return false;
+                propertyKeys.addAll(Arrays.asList(keys));
+            }
+            if (step instanceof PropertyMapStep) {
+                final String[] keys = ((PropertyMapStep<?, ?>) step).getPropertyKeys();
+                if (keys.length == 0) return false;
+                propertyKeys.addAll(Arrays.asList(keys));
+            }
+            if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    final String key = hasContainer.getKey();
+                    if (key.equals(T.key.getAccessor()) || key.equals(T.value.getAccessor())) return false;
+                    if (!key.equals(T.id.getAccessor()) && !key.equals(T.label.getAccessor())) {
+                        propertyKeys.add(key);
+                    }
+                }
+            }
+            if (step instanceof ComparatorHolder) {
+                for (final Pair<? extends Traversal.Admin<?, ?>, ? extends Comparator<?>> comparator
+                        : ((ComparatorHolder<?, ?>) step).getComparators()) {
+                    if (!(comparator.getValue1() instanceof Order)) return false;
+                }
+            }
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    if (!collectPropertyKeys(child, propertyKeys)) return false;
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    if (!collectPropertyKeys(child, propertyKeys)) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static HBaseProjectionStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -5,17 +5,37 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.PathFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.TreeStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.TreeSideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 public final class HBaseVertexStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
 
     private static final HBaseVertexStepStrategy INSTANCE = new HBaseVertexStepStrategy();
 
+    // steps that need the edges of a path, as in IncidentToAdjacentStrategy
+    private static final Set<Class> INVALIDATING_STEP_CLASSES = new HashSet<>(Arrays.asList(
+            PathStep.class, PathFilterStep.class, TreeStep.class, TreeSideEffectStep.class, LambdaHolder.class));
+
     private HBaseVertexStepStrategy() {
     }
 
@@ -36,9 +56,41 @@ public final class HBaseVertexStepStrategy extends AbstractTraversalStrategy<Tra
                 }
                 currentStep = currentStep.getNextStep();
             }
+            if (!Edge.class.isAssignableFrom(hbaseVertexStep.getReturnClass())) continue;
+            if (isAdjacentVertexStep(hbaseVertexStep, currentStep) && !hbaseVertexStep.getHasContainers().isEmpty()
+                    && hbaseVertexStep.getLabels().isEmpty()
+                    && !TraversalHelper.hasStepOfAssignableClassRecursively(INVALIDATING_STEP_CLASSES,
+                    TraversalHelper.getRootTraversal(traversal))) {
+                foldAdjacentVertexStep(traversal, hbaseVertexStep, currentStep);
+            } else if (currentStep instanceof OrderGlobalStep && currentStep.getNextStep() instanceof RangeGlobalStep) {
+                HBaseGraphStepStrategy.applyOrderLimit((OrderGlobalStep<?, ?>) currentStep,
+                        (RangeGlobalStep<?>) currentStep.getNextStep(), hbaseVertexStep::setOrderLimit);
+            }
         }
     }
 
+    private static boolean isAdjacentVertexStep(final HBaseVertexStep<?> hbaseVertexStep, final Step<?, ?> step) {
+        if (step instanceof EdgeOtherVertexStep) return true;
+        if (!(step instanceof EdgeVertexStep)) return false;
+        final Direction direction = hbaseVertexStep.getDirection();
+        return direction != Direction.BOTH && ((EdgeVertexStep) step).getDirection() == direction.opposite();
+    }
+
+    /**
+     * Replace {@code outE().has(...).inV()} with a single vertex-returning step that applies
+     * the predicates to the traversed edges, so that they can still be answered by an edge index.
+     */
+    @SuppressWarnings("unchecked")
+    private static void foldAdjacentVertexStep(final Traversal.Admin<?, ?> traversal,
+                                               final HBaseVertexStep<?> hbaseVertexStep, final Step<?, ?> vertexStep) {
+        final HBaseVertexStep<Vertex> adjacentStep = new HBaseVertexStep<>(new VertexStep<>(traversal, Vertex.class,
+                hbaseVertexStep.getDirection(), hbaseVertexStep.getEdgeLabels()));
+        hbaseVertexStep.getHasContainers().forEach(adjacentStep::addEdgeHasContainer);
+        vertexStep.getLabels().forEach(adjacentStep::addLabel);
+        TraversalHelper.replaceStep((Step) hbaseVertexStep, adjacentStep, traversal);
+        traversal.removeStep(vertexStep);
+    }
+
     public static HBaseVertexStepStrategy instance() {
         return INSTANCE;
     }
@@ -7,27 +7,45 @@ import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class EdgeReader extends LoadingElementReader<Edge> {
 
+    private final boolean scanned;
+
     public EdgeReader(HBaseGraph graph) {
+        this(graph, false);
+    }
+
+    /**
+     * @param scanned Whether the rows are read by a full table or label scan, so that
+     *                they may bypass the element cache
+     */
+    public EdgeReader(HBaseGraph graph, boolean scanned) {
         super(graph);
+        this.scanned = scanned;
     }
 
     @Override
     public Edge parse(Result result) {
+        return parse(result, null);
+    }
+
+    @Override
+    public Edge parse(Result result, Set<String> propertyKeys) {
         Object id = ValueUtils.deserializeWithSalt(result.getRow());
-        Edge edge = graph.findOrCreateEdge(id);
-        load(edge, result);
+        Edge edge = scanned ? graph.findOrCreateScannedEdge(id) : graph.findOrCreateEdge(id);
+        load(edge, result, propertyKeys);
         return edge;
     }
 
     @Override
-    public void load(Edge edge, Result result) {
+    public void load(Edge edge, Result result, Set<String> propertyKeys) {
         if (result.isEmpty()) {
             throw new HBaseGraphNotFoundException(edge, "Edge does not exist: " + edge.id());
         }
@@ -58,11 +76,16 @@ public class EdgeReader extends LoadingElementReader<Edge> {
                 e -> ValueUtils.deserializePropertyValue(graph, ElementType.EDGE, labelStr, e.getKey(), e.getValue())));
         if (inVertexId != null && outVertexId != null && label != null) {
             HBaseEdge newEdge = new HBaseEdge(graph, edge.id(), label, createdAt, updatedAt, props,
-                    graph.findOrCreateVertex(inVertexId),
-                    graph.findOrCreateVertex(outVertexId));
+                    findOrCreateVertex(inVertexId),
+                    findOrCreateVertex(outVertexId));
+            newEdge.setLoadedPropertyKeys(propertyKeys);
             ((HBaseEdge) edge).copyFrom(newEdge);
         } else {
             throw new IllegalStateException("Unable to parse edge from cells");
         }
     }
+
+    private Vertex findOrCreateVertex(Object id) {
+        return scanned ? graph.findOrCreateScannedVertex(id) : graph.findOrCreateVertex(id);
+    }
 }
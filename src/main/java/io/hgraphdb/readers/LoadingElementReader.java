@@ -4,11 +4,24 @@ import io.hgraphdb.HBaseGraph;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
+import java.util.Set;
+
 public abstract class LoadingElementReader<T extends Element> extends ElementReader<T> {
 
     public LoadingElementReader(HBaseGraph graph) {
         super(graph);
     }
 
-    public abstract void load(T element, Result result);
+    public void load(T element, Result result) {
+        load(element, result, null);
+    }
+
+    public abstract T parse(Result result, Set<String> propertyKeys);
+
+    /**
+     * Load the element from a row that holds only the given property columns.
+     *
+     * @param propertyKeys The projected property keys, or null if the row is complete
+     */
+    public abstract void load(T element, Result result, Set<String> propertyKeys);
 }
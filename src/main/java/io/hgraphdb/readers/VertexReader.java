@@ -10,24 +10,41 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class VertexReader extends LoadingElementReader<Vertex> {
 
+    private final boolean scanned;
+
     public VertexReader(HBaseGraph graph) {
+        this(graph, false);
+    }
+
+    /**
+     * @param scanned Whether the rows are read by a full table or label scan, so that
+     *                they may bypass the element cache
+     */
+    public VertexReader(HBaseGraph graph, boolean scanned) {
         super(graph);
+        this.scanned = scanned;
     }
 
     @Override
     public Vertex parse(Result result) {
+        return parse(result, null);
+    }
+
+    @Override
+    public Vertex parse(Result result, Set<String> propertyKeys) {
         Object id = ValueUtils.deserializeWithSalt(result.getRow());
-        Vertex vertex = graph.findOrCreateVertex(id);
-        load(vertex, result);
+        Vertex vertex = scanned ? graph.findOrCreateScannedVertex(id) : graph.findOrCreateVertex(id);
+        load(vertex, result, propertyKeys);
         return vertex;
     }
 
     @Override
-    public void load(Vertex vertex, Result result) {
+    public void load(Vertex vertex, Result result, Set<String> propertyKeys) {
         if (result.isEmpty()) {
             throw new HBaseGraphNotFoundException(vertex, "Vertex does not exist: " + vertex.id());
         }
@@ -51,6 +68,7 @@ public class VertexReader extends LoadingElementReader<Vertex> {
         Map<String, Object> props = rawProps.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
                 e -> ValueUtils.deserializePropertyValue(graph, ElementType.VERTEX, labelStr, e.getKey(), e.getValue())));
         HBaseVertex newVertex = new HBaseVertex(graph, vertex.id(), label, createdAt, updatedAt, props);
+        newVertex.setLoadedPropertyKeys(propertyKeys);
         ((HBaseVertex) vertex).copyFrom(newVertex);
     }
 }
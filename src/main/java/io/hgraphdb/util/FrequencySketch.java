@@ -0,0 +1,104 @@
+package io.hgraphdb.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A count-min sketch of the popularity of keys, as used by the TinyLFU admission policy.
+ * Each key has four 4-bit counters, one in each of four rows, and its frequency is the
+ * least of them.  Once the counters have been incremented ten times per expected key,
+ * all counters are halved, so that the sketch favors keys that were popular recently.
+ *
+ * <p>The sketch takes no locks: counters are incremented with a compare-and-set on their
+ * long, and the number of increments since the last halving is counted without
+ * synchronization, so it may miss some, which only delays the next halving.
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    // each long holds sixteen 4-bit counters
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicBoolean resetting = new AtomicBoolean();
+    // racy, as a lost increment only delays the next halving
+    private int additions;
+
+    /**
+     * @param expectedSize The number of keys expected to be tracked, such as the capacity of a cache
+     */
+    public FrequencySketch(long expectedSize) {
+        int size = (int) Math.min(Math.max(expectedSize, 16), 1 << 30);
+        int tableSize = Integer.highestOneBit(size - 1) << 1;
+        this.table = new AtomicLongArray(tableSize);
+        this.tableMask = tableSize - 1;
+        this.sampleSize = (int) Math.min(10L * size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The estimated number of times the key with the given hash was seen, up to 15.
+     */
+    public int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, count(hash, i));
+        }
+        return frequency;
+    }
+
+    /**
+     * Record an occurrence of the key with the given hash.
+     */
+    public void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        while (true) {
+            long value = table.get(index);
+            if (((value >>> offset) & 0xfL) == MAX_COUNT) return false;
+            if (table.compareAndSet(index, value, value + (1L << offset))) return true;
+        }
+    }
+
+    private void reset() {
+        if (!resetting.compareAndSet(false, true)) return;
+        try {
+            if (additions < sampleSize) return;
+            for (int i = 0; i < table.length(); i++) {
+                long value;
+                do {
+                    value = table.get(i);
+                } while (!table.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+            }
+            additions /= 2;
+        } finally {
+            resetting.set(false);
+        }
+    }
+
+    private int count(int hash, int row) {
+        return (int) ((table.get(indexOf(hash, row)) >>> offsetOf(hash, row)) & 0xfL);
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    private static int offsetOf(int hash, int row) {
+        // each row uses its own quarter of the counters of a long
+        return ((((hash >>> (row << 3)) & 3) << 2) + row) << 2;
+    }
+}
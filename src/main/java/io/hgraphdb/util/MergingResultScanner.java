@@ -0,0 +1,205 @@
+package io.hgraphdb.util;
+
+import io.hgraphdb.HBaseGraphException;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.AbstractClientScanner;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A scanner that runs scans of the same rows under different salts on the given executor,
+ * and merges their results into the order of the row keys without the salt byte.  Each
+ * scan hands over its results through its own bounded queue, so it pauses while its
+ * results are not needed.  The scans must all be reversed or all be forward.
+ *
+ * <p>A scan that cannot hand over a result for the idle timeout, which should be the
+ * scanner lease, gives up and closes its scanner, and the consumer then fails if it comes
+ * back.  Scans that the executor rejects are read on the thread of the consumer instead.
+ */
+public class MergingResultScanner extends AbstractClientScanner {
+
+    private static final int QUEUE_SIZE = 100;
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    // marks the end of a scan
+    private static final Result END = new Result();
+
+    private final Connection connection;
+    private final TableName tableName;
+    private final long idleTimeoutNanos;
+    private final List<BlockingQueue<Result>> queues = new ArrayList<>();
+    private final List<Future<?>> futures = new ArrayList<>();
+    // the scans read on the thread of the consumer, which follow those with queues
+    private final List<ResultScanner> scanners = new ArrayList<>();
+    private Table table;
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final PriorityQueue<Head> heads;
+    private volatile boolean closed = false;
+    private boolean started = false;
+
+    public MergingResultScanner(Connection connection, TableName tableName, List<Scan> scans,
+                                long idleTimeoutMs, ExecutorService executor) throws IOException {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        Comparator<Head> comparator = (h1, h2) -> compareUnsalted(h1.result.getRow(), h2.result.getRow());
+        this.heads = new PriorityQueue<>(scans.size(),
+                scans.get(0).isReversed() ? comparator.reversed() : comparator);
+        for (Scan scan : scans) {
+            if (scanners.isEmpty()) {
+                BlockingQueue<Result> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+                try {
+                    futures.add(executor.submit(() -> run(scan, queue)));
+                    queues.add(queue);
+                    continue;
+                } catch (RejectedExecutionException e) {
+                    table = connection.getTable(tableName);
+                }
+            }
+            scanners.add(table.getScanner(scan));
+        }
+    }
+
+    private static int compareUnsalted(byte[] row1, byte[] row2) {
+        return Bytes.compareTo(row1, 1, row1.length - 1, row2, 1, row2.length - 1);
+    }
+
+    private void run(Scan scan, BlockingQueue<Result> queue) {
+        try (Table table = connection.getTable(tableName);
+             ResultScanner scanner = table.getScanner(scan)) {
+            for (Result result : scanner) {
+                if (!offer(queue, result)) return;
+            }
+        } catch (Throwable t) {
+            error.compareAndSet(null, t);
+        }
+        offer(queue, END);
+    }
+
+    private boolean offer(BlockingQueue<Result> queue, Result result) {
+        long start = System.nanoTime();
+        try {
+            while (!closed) {
+                if (queue.offer(result, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) return true;
+                if (System.nanoTime() - start > idleTimeoutNanos) {
+                    // the consumer has abandoned the scan, whose lease has expired by now
+                    error.compareAndSet(null, new HBaseGraphException("Scan not consumed within the scanner lease"));
+                    stop();
+                    // wake the consumer if it is waiting on another scan
+                    for (BlockingQueue<Result> q : queues) {
+                        q.offer(END);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public Result next() throws IOException {
+        if (closed) {
+            checkError();
+            return null;
+        }
+        try {
+            if (!started) {
+                started = true;
+                for (int i = 0; i < queues.size() + scanners.size(); i++) {
+                    take(i);
+                }
+            }
+            Head head = heads.poll();
+            if (head == null) return null;
+            take(head.index);
+            return head.result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    private void take(int index) throws IOException, InterruptedException {
+        Result result = index < queues.size()
+                ? queues.get(index).take()
+                : scanners.get(index - queues.size()).next();
+        if (result == null) result = END;
+        if (result == END) {
+            checkError();
+        } else {
+            heads.add(new Head(result, index));
+        }
+    }
+
+    private void checkError() {
+        Throwable t = error.get();
+        if (t != null) {
+            close();
+            throw new HBaseGraphException(t);
+        }
+    }
+
+    // stop the scans read on the executor
+    private void stop() {
+        if (closed) return;
+        closed = true;
+        for (Future<?> future : futures) {
+            future.cancel(false);
+        }
+        for (BlockingQueue<Result> queue : queues) {
+            queue.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+        // only the consumer reads and closes the scans read on its thread
+        for (ResultScanner scanner : scanners) {
+            scanner.close();
+        }
+        scanners.clear();
+        if (table != null) {
+            try {
+                table.close();
+            } catch (IOException e) {
+                throw new HBaseGraphException(e);
+            }
+            table = null;
+        }
+    }
+
+    @Override
+    public boolean renewLease() {
+        return false;
+    }
+
+    private static class Head {
+        private final Result result;
+        private final int index;
+
+        private Head(Result result, int index) {
+            this.result = result;
+            this.index = index;
+        }
+    }
+}
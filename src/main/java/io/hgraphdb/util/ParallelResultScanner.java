@@ -0,0 +1,205 @@
+package io.hgraphdb.util;
+
+import io.hgraphdb.HBaseGraphException;
+import io.hgraphdb.HBaseGraphUtils;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.AbstractClientScanner;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A scanner that splits a scan of a salted table into contiguous ranges of salt buckets
+ * and runs one sub-scan per range on the given executor.  Results are handed over
+ * through a bounded queue, so sub-scans pause while the consumer falls behind.
+ * Results are in key order within each range, but ranges are interleaved.
+ *
+ * <p>A sub-scan that cannot hand over a result for the idle timeout, which should be the
+ * scanner lease, gives up and closes its scanner, and the consumer then fails if it comes
+ * back.  Sub-scans that the executor rejects are read on the thread of the consumer,
+ * after the others.
+ */
+public class ParallelResultScanner extends AbstractClientScanner {
+
+    private static final int QUEUE_SIZE_PER_SPLIT = 100;
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    // marks the end of a sub-scan
+    private static final Result END = new Result();
+
+    private final Connection connection;
+    private final TableName tableName;
+    private final BlockingQueue<Result> queue;
+    private final long idleTimeoutNanos;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    // the sub-scans to read on the thread of the consumer
+    private final Deque<Scan> rejected = new ArrayDeque<>();
+    private Table table;
+    private ResultScanner scanner;
+    private volatile boolean closed = false;
+    private int remaining;
+
+    public ParallelResultScanner(Connection connection, TableName tableName, Scan scan,
+                                 int saltBuckets, int splits, long idleTimeoutMs, ExecutorService executor) throws IOException {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        List<Scan> scans = split(scan, saltBuckets, splits);
+        this.queue = new ArrayBlockingQueue<>(QUEUE_SIZE_PER_SPLIT * scans.size());
+        for (Scan s : scans) {
+            if (!rejected.isEmpty()) {
+                rejected.add(s);
+                continue;
+            }
+            try {
+                futures.add(executor.submit(() -> run(s)));
+                remaining++;
+            } catch (RejectedExecutionException e) {
+                rejected.add(s);
+            }
+        }
+    }
+
+    /**
+     * Split the scan into at most {@code splits} scans over contiguous ranges of salt buckets.
+     * The ranges are the same as those of the regions of tables pre-split into as many regions.
+     */
+    public static List<Scan> split(Scan scan, int saltBuckets, int splits) throws IOException {
+        splits = Math.max(1, Math.min(splits, saltBuckets));
+        byte[][] splitKeys = HBaseGraphUtils.getSplitKeys(saltBuckets, splits);
+        byte[] startRow = scan.getStartRow();
+        byte[] stopRow = scan.getStopRow();
+        List<Scan> scans = new ArrayList<>(splits);
+        for (int i = 0; i < splits; i++) {
+            byte[] splitStart = i == 0 ? new byte[]{0} : splitKeys[i - 1];
+            byte[] splitStop = i == splits - 1 ? new byte[0] : splitKeys[i];
+            byte[] start = Bytes.compareTo(startRow, splitStart) > 0 ? startRow : splitStart;
+            byte[] stop = stopRow.length == 0 || (splitStop.length > 0 && Bytes.compareTo(splitStop, stopRow) < 0)
+                    ? splitStop : stopRow;
+            if (stop.length > 0 && Bytes.compareTo(start, stop) >= 0) continue;
+            Scan s = new Scan(scan);
+            s.setStartRow(start);
+            s.setStopRow(stop);
+            Filter filter = scan.getFilter();
+            if (filter != null) {
+                // filters hold per-scan state
+                s.setFilter(ProtobufUtil.toFilter(ProtobufUtil.toFilter(filter)));
+            }
+            scans.add(s);
+        }
+        return scans;
+    }
+
+    private void run(Scan scan) {
+        try (Table table = connection.getTable(tableName);
+             ResultScanner scanner = table.getScanner(scan)) {
+            for (Result result : scanner) {
+                if (!offer(result)) return;
+            }
+        } catch (Throwable t) {
+            error.compareAndSet(null, t);
+        }
+        offer(END);
+    }
+
+    private boolean offer(Result result) {
+        long start = System.nanoTime();
+        try {
+            while (!closed) {
+                if (queue.offer(result, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) return true;
+                if (System.nanoTime() - start > idleTimeoutNanos) {
+                    // the consumer has abandoned the scan, whose lease has expired by now
+                    error.compareAndSet(null, new HBaseGraphException("Scan not consumed within the scanner lease"));
+                    close();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public Result next() throws IOException {
+        if (closed) {
+            checkError();
+            return null;
+        }
+        try {
+            while (remaining > 0) {
+                Result result = queue.take();
+                if (result == END) {
+                    remaining--;
+                    checkError();
+                } else {
+                    return result;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new HBaseGraphException(e);
+        }
+        while (scanner != null || !rejected.isEmpty()) {
+            if (scanner == null) {
+                if (table == null) table = connection.getTable(tableName);
+                scanner = table.getScanner(rejected.poll());
+            }
+            Result result = scanner.next();
+            if (result != null) return result;
+            scanner.close();
+            scanner = null;
+        }
+        return null;
+    }
+
+    private void checkError() {
+        Throwable t = error.get();
+        if (t != null) {
+            close();
+            throw new HBaseGraphException(t);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (Future<?> future : futures) {
+            future.cancel(false);
+        }
+        queue.clear();
+        if (scanner != null) scanner.close();
+        if (table != null) {
+            try {
+                table.close();
+            } catch (IOException e) {
+                throw new HBaseGraphException(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean renewLease() {
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+package io.hgraphdb.util;
+
+import io.hgraphdb.HBaseGraphException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An iterator that reads ahead of its consumer.  A task on the given executor pulls pages
+ * of elements from the source iterator into a bounded queue, so that the next pages are
+ * fetched while the consumer processes the current one.  The task pauses while the queue
+ * is full.  Closing the iterator stops the task and then closes the source, once the task
+ * is no longer reading from it.
+ *
+ * <p>If the task cannot hand over a page for the idle timeout, which should be the scanner
+ * lease, it gives up and closes the iterator, and the consumer then fails if it comes back.
+ */
+public class ReadAheadIterator<T> implements CloseableIterator<T> {
+
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    // marks the end of the source
+    private static final List<Object> END = new ArrayList<>(0);
+
+    private final Iterator<T> source;
+    private final Runnable onClose;
+    private final int pageSize;
+    private final BlockingQueue<List<T>> queue;
+    private final long idleTimeoutNanos;
+    private final Future<?> future;
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final Object sourceLock = new Object();
+    private volatile boolean closed = false;
+    private Iterator<T> page = Collections.emptyIterator();
+    private boolean done = false;
+
+    /**
+     * @param source   The iterator to read ahead of
+     * @param onClose  Closes the source
+     * @param pageSize The number of elements per page
+     * @param pages         The number of pages to read ahead
+     * @param idleTimeoutMs How long to wait for the consumer to take a page before giving up
+     * @param executor      The executor to read on
+     * @throws java.util.concurrent.RejectedExecutionException if the executor rejects the task
+     */
+    public ReadAheadIterator(Iterator<T> source, Runnable onClose, int pageSize, int pages,
+                             long idleTimeoutMs, ExecutorService executor) {
+        this.source = source;
+        this.onClose = onClose;
+        this.pageSize = Math.max(1, pageSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, pages));
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.future = executor.submit(this::run);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run() {
+        try {
+            while (!closed) {
+                List<T> next = new ArrayList<>(pageSize);
+                synchronized (sourceLock) {
+                    if (closed) return;
+                    while (next.size() < pageSize && source.hasNext()) {
+                        next.add(source.next());
+                    }
+                }
+                if (next.isEmpty()) break;
+                if (!offer(next)) return;
+            }
+        } catch (Throwable t) {
+            error.compareAndSet(null, t);
+        }
+        offer((List<T>) (List<?>) END);
+    }
+
+    private boolean offer(List<T> next) {
+        long start = System.nanoTime();
+        try {
+            while (!closed) {
+                if (queue.offer(next, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) return true;
+                if (System.nanoTime() - start > idleTimeoutNanos) {
+                    // the consumer has abandoned the iterator, whose scan lease has expired by now
+                    error.compareAndSet(null, new HBaseGraphException("Scan not consumed within the scanner lease"));
+                    close();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            checkError();
+            return false;
+        }
+        while (!page.hasNext()) {
+            if (done) return false;
+            List<T> next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new HBaseGraphException(e);
+            }
+            if (next == END) {
+                done = true;
+                close();
+                checkError();
+                return false;
+            }
+            page = next.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw FastNoSuchElementException.instance();
+        return page.next();
+    }
+
+    private void checkError() {
+        Throwable t = error.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t != null) {
+            throw new HBaseGraphException(t);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        future.cancel(false);
+        queue.clear();
+        synchronized (sourceLock) {
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.hgraphdb.util;
+
+import org.apache.hadoop.hbase.client.AbstractClientScanner;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A scanner that fetches the next pages of results of the given scanner on the given
+ * executor while the current page is being consumed.  Closing the scanner, including
+ * before it is exhausted, closes the given scanner, as does giving up on a consumer that
+ * has not read the scanner for the idle timeout.
+ */
+public class ReadAheadResultScanner extends AbstractClientScanner {
+
+    private final ReadAheadIterator<Result> results;
+
+    public ReadAheadResultScanner(ResultScanner scanner, int pageSize, int pages, long idleTimeoutMs,
+                                  ExecutorService executor) {
+        this.results = new ReadAheadIterator<>(scanner.iterator(), scanner::close, pageSize, pages,
+                idleTimeoutMs, executor);
+    }
+
+    @Override
+    public Result next() {
+        return results.hasNext() ? results.next() : null;
+    }
+
+    @Override
+    public void close() {
+        results.close();
+    }
+
+    @Override
+    public boolean renewLease() {
+        return false;
+    }
+}
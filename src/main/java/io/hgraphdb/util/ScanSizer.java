@@ -0,0 +1,138 @@
+package io.hgraphdb.util;
+
+import org.apache.hadoop.hbase.client.AbstractClientScanner;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes the pages that scanners fetch per RPC, by setting the caching and max result size
+ * of scans.  Scans are grouped by the kind of query they serve, and the caching of each
+ * kind adapts to the rows of that kind seen so far: a page holds no more rows than fit in
+ * the max result size, and no more rows than the consumer works through well within the
+ * scanner lease.  Scans for a given number of results fetch no more rows than that.
+ *
+ * <p>The pages of unbounded scans are not capped by the number of rows that scans of their
+ * kind usually return, as a scan that returns many more rows than usual, such as that of
+ * the edges of a supernode, would then take one RPC for every few rows.
+ *
+ * <p>Rows are never split with {@link Scan#setBatch(int)}, as the readers expect whole rows.
+ */
+public class ScanSizer {
+
+    public enum Kind {
+        ADJACENCY, INDEX_EQ, INDEX_RANGE, LABEL, FULL
+    }
+
+    // weight of the latest scan in the running averages
+    private static final double ALPHA = 0.2;
+    // how long a consumer may take to work through a page, well within the default lease of 60 seconds
+    private static final long PAGE_TIME_NANOS = TimeUnit.SECONDS.toNanos(20);
+
+    private final int minCaching;
+    private final int maxCaching;
+    private final long maxResultSize;
+    private final Shape[] shapes = new Shape[Kind.values().length];
+
+    public ScanSizer(int minCaching, int maxCaching, long maxResultSize) {
+        this.minCaching = Math.max(1, minCaching);
+        this.maxCaching = Math.max(this.minCaching, maxCaching);
+        this.maxResultSize = maxResultSize;
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = new Shape();
+        }
+    }
+
+    /**
+     * Set the caching and max result size of the given scan.
+     *
+     * @param scan  The scan
+     * @param kind  The kind of query the scan serves
+     * @param limit The number of results requested, or 0 if unbounded
+     * @return The scan
+     */
+    public Scan size(Scan scan, Kind kind, int limit) {
+        scan.setCaching(getCaching(kind, limit));
+        scan.setMaxResultSize(maxResultSize);
+        return scan;
+    }
+
+    /**
+     * The number of rows to fetch per RPC for a scan of the given kind.
+     *
+     * @param kind  The kind of query the scan serves
+     * @param limit The number of results requested, or 0 if unbounded
+     */
+    public int getCaching(Kind kind, int limit) {
+        Shape shape = shapes[kind.ordinal()];
+        double caching = limit > 0 ? limit : maxCaching;
+        synchronized (shape) {
+            if (shape.bytesPerRow > 0) caching = Math.min(caching, maxResultSize / shape.bytesPerRow);
+            if (shape.nanosPerRow > 0) caching = Math.min(caching, PAGE_TIME_NANOS / shape.nanosPerRow);
+        }
+        return (int) Math.max(minCaching, Math.min(caching, maxCaching));
+    }
+
+    /**
+     * Wrap the given scanner of the given kind, to record the number and size of the rows
+     * it returns, and the time taken to consume them, once it is closed.
+     */
+    public ResultScanner observe(ResultScanner scanner, Kind kind) {
+        return new ObservedScanner(scanner, shapes[kind.ordinal()]);
+    }
+
+    private static class Shape {
+        double bytesPerRow;
+        double nanosPerRow;
+
+        synchronized void record(long rows, long bytes, long nanos) {
+            if (rows > 0) {
+                double rowBytes = (double) bytes / rows;
+                double rowNanos = (double) nanos / rows;
+                bytesPerRow = bytesPerRow == 0 ? rowBytes : bytesPerRow + ALPHA * (rowBytes - bytesPerRow);
+                nanosPerRow = nanosPerRow == 0 ? rowNanos : nanosPerRow + ALPHA * (rowNanos - nanosPerRow);
+            }
+        }
+    }
+
+    private static class ObservedScanner extends AbstractClientScanner {
+
+        private final ResultScanner scanner;
+        private final Shape shape;
+        private final long start = System.nanoTime();
+        private long rows;
+        private long bytes;
+        private volatile boolean closed = false;
+
+        ObservedScanner(ResultScanner scanner, Shape shape) {
+            this.scanner = scanner;
+            this.shape = shape;
+        }
+
+        @Override
+        public Result next() throws IOException {
+            Result result = scanner.next();
+            if (result != null) {
+                rows++;
+                bytes += Result.getTotalSizeOfCells(result);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            scanner.close();
+            shape.record(rows, bytes, System.nanoTime() - start);
+        }
+
+        @Override
+        public boolean renewLease() {
+            return scanner.renewLease();
+        }
+    }
+}
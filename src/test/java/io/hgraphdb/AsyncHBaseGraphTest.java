@@ -0,0 +1,90 @@
+package io.hgraphdb;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncHBaseGraphTest extends HBaseGraphTest {
+
+    @Test
+    public void testAsyncGraph() throws Exception {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        try (AsyncHBaseGraph async = new AsyncHBaseGraph(graph)) {
+            Vertex v0 = async.addVertex(T.id, id(0), T.label, "a", "key1", 0).get();
+            CompletableFuture<Vertex> v1 = async.addVertex(T.id, id(1), T.label, "a", "key1", 1);
+            CompletableFuture<Vertex> v2 = async.addVertex(T.id, id(2), T.label, "a", "key1", 1);
+            Edge e = async.addEdge(v0, "b", v1.get(), "key2", 2).get();
+            async.addEdge(v0, "b", v2.get()).get();
+
+            assertEquals(id(0), async.vertex(id(0)).get().id());
+            assertEquals(3, async.vertices(id(0), id(1), id(2)).get().size());
+            assertEquals(e.id(), async.edge(e.id()).get().id());
+            assertEquals(2, async.edges(v0, Direction.OUT, "b").get().size());
+            assertEquals(1, async.edges(v0, Direction.OUT, "b", "key2", 2).get().size());
+            List<Vertex> adjacent = async.vertices(v0, Direction.OUT).get();
+            assertEquals(2, adjacent.size());
+            assertEquals(2, async.verticesByLabel("a", "key1", 1).get().size());
+            assertEquals(3, async.verticesByLabel("a").get().size());
+
+            async.setProperty(v0, "key1", 1).get();
+            assertEquals(3, async.verticesByLabel("a", "key1", 1).get().size());
+            assertEquals(1, (int) async.<Integer>removeProperty(v0, "key1").get());
+            assertFalse(graph.vertex(id(0)).property("key1").isPresent());
+
+            async.remove(async.vertex(id(2)).get()).get();
+            try {
+                async.vertex(id(2)).get();
+                fail("Vertex should not exist");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof HBaseGraphNotFoundException);
+            }
+        }
+    }
+
+    @Test
+    public void testAsyncQueueBounded() throws Exception {
+        graph.configuration().setAsyncThreads(1).setAsyncQueueSize(1);
+        graph.addVertex(T.id, id(1));
+        CountDownLatch release = new CountDownLatch(1);
+        Vertex blocking = new HBaseVertex(graph, id(0)) {
+            @Override
+            public void remove() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        try (AsyncHBaseGraph async = new AsyncHBaseGraph(graph)) {
+            // one operation holds the only thread, and one waits for it
+            CompletableFuture<Void> running = async.remove(blocking);
+            CompletableFuture<Vertex> queued = async.vertex(id(1));
+            CompletableFuture<Vertex> rejected = async.vertex(id(1));
+            assertTrue(rejected.isCompletedExceptionally());
+            try {
+                rejected.get();
+                fail("Operation should have been rejected");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof RejectedExecutionException);
+            }
+
+            release.countDown();
+            running.get();
+            assertEquals(id(1), queued.get().id());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.hgraphdb;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.javatuples.Pair;
+import org.javatuples.Tuple;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class HBaseAdjacencyCacheTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setAdjacencyCacheMaxEntryEdges(3);
+        return config;
+    }
+
+    @Test
+    public void testAdjacencyCache() {
+        HBaseVertex v0 = (HBaseVertex) graph.addVertex(T.id, id(0));
+        for (int i = 1; i < 8; i++) {
+            v0.addEdge(i < 3 ? "a" : "b", graph.addVertex(T.id, id(i)), T.id, id(10 + i));
+        }
+        Tuple a = new Pair<>(Direction.OUT, Collections.singletonList("a"));
+        Tuple b = new Pair<>(Direction.OUT, Collections.singletonList("b"));
+
+        assertEquals(2, count(v0.edges(Direction.OUT, "a")));
+        assertEquals(5, count(v0.edges(Direction.OUT, "b")));
+        assertEquals(2, count(v0.getEdgesFromCache(a)));
+        assertNull(v0.getEdgesFromCache(b));
+
+        // another instance of the same vertex shares the cache
+        HBaseVertex copy = new HBaseVertex(graph, id(0));
+        assertEquals(2, count(copy.getEdgesFromCache(a)));
+
+        v0.addEdge("a", graph.vertex(id(7)));
+        assertNull(v0.getEdgesFromCache(a));
+        assertEquals(3, count(v0.edges(Direction.OUT, "a")));
+        assertEquals(3, count(v0.getEdgesFromCache(a)));
+
+        graph.edge(id(11)).remove();
+        assertNull(v0.getEdgesFromCache(a));
+        assertEquals(2, count(v0.edges(Direction.OUT, "a")));
+    }
+}
@@ -0,0 +1,90 @@
+package io.hgraphdb;
+
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HBaseCoalescedLoadTest extends HBaseGraphTest {
+
+    private final AtomicBoolean blockGet = new AtomicBoolean(false);
+    private final CountDownLatch getStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseGet = new CountDownLatch(1);
+
+    /**
+     * Open the graph on a connection that holds the first Get once blockGet is set, until
+     * releaseGet is counted down.
+     */
+    @Before
+    @Override
+    public void makeGraph() {
+        HBaseGraphConfiguration config = generateGraphConfig("testgraph");
+        Connection connection = HBaseGraphUtils.getConnection(config);
+        graph = new HBaseGraph(config, intercept(connection, Connection.class, (method, args, invoke) -> {
+            if (!method.getName().equals("getTable")) return invoke.call();
+            return intercept((Table) invoke.call(), Table.class, (tableMethod, tableArgs, tableInvoke) -> {
+                if (tableMethod.getName().equals("get") && tableArgs[0] instanceof Get
+                        && blockGet.compareAndSet(true, false)) {
+                    getStarted.countDown();
+                    releaseGet.await();
+                }
+                return tableInvoke.call();
+            });
+        }));
+    }
+
+    @Test
+    public void testCoalescedLoads() throws Exception {
+        graph.addVertex(T.id, id(0), T.label, "a", "key1", 1);
+        HBaseVertex shared = (HBaseVertex) graph.findOrCreateVertex(id(0));
+        ((HBaseElement) shared).setLoadedPropertyKeys(Collections.emptySet());
+        long loads = graph.getVertexCacheStats().loadCount();
+        blockGet.set(true);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        results.add(executor.submit(() -> {
+            graph.getVertexModel().load(shared);
+            return shared.value("key1");
+        }));
+        getStarted.await();
+        for (int i = 1; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                graph.getVertexModel().load(shared);
+                return shared.value("key1");
+            }));
+        }
+        long deadline = System.currentTimeMillis() + 10000;
+        try {
+            while (graph.getVertexCoalescedLoadCount() < threads - 1) {
+                assertTrue("Loads were not coalesced", System.currentTimeMillis() < deadline);
+                Thread.sleep(1);
+            }
+        } finally {
+            releaseGet.countDown();
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(1, (int) result.get());
+        }
+        executor.shutdown();
+
+        // only the first caller sent a Get, and the others shared it
+        assertEquals(1, graph.getVertexCacheStats().loadCount() - loads);
+        assertEquals(threads - 1, graph.getVertexCoalescedLoadCount());
+    }
+}
@@ -0,0 +1,44 @@
+package io.hgraphdb;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HBaseColumnLoadingTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setElementCacheMaxSize(0);
+        config.setColumnLoading(true);
+        return config;
+    }
+
+    @Test
+    public void testColumnLoading() {
+        graph.addVertex(T.id, id(0), T.label, "a", "key1", 1, "key2", 2);
+
+        HBaseVertex v = (HBaseVertex) graph.findOrCreateVertex(id(0));
+        assertEquals(1, (int) v.value("key1"));
+        assertFalse(v.isFullyLoaded());
+        assertEquals("a", v.label());
+        assertFalse(v.property("key3").isPresent());
+        assertTrue(v.isLoaded(new HashSet<>(Arrays.asList("key1", "key3"))));
+        assertFalse(v.isLoaded(Collections.singleton("key2")));
+
+        v.property("key1", 5);
+        assertEquals(5, (int) graph.vertex(id(0)).value("key1"));
+        assertFalse(v.isFullyLoaded());
+
+        // enumerating the properties loads the whole row
+        assertEquals(new HashSet<>(Arrays.asList("key1", "key2")), v.keys());
+        assertTrue(v.isFullyLoaded());
+    }
+}
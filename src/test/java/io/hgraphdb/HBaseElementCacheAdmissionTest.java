@@ -0,0 +1,44 @@
+package io.hgraphdb;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Test;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HBaseElementCacheAdmissionTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setElementCacheMaxSize(5);
+        config.setElementCacheScanBypass(true);
+        return config;
+    }
+
+    @Test
+    public void testElementCacheAdmission() {
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(T.id, id(i));
+        }
+        // once the cache is full, vertices seen only once are not admitted
+        for (int i = 6; i < 20; i++) {
+            graph.addVertex(T.id, id(i));
+        }
+        for (int i = 2; i < 6; i++) {
+            assertNotNull(graph.findVertex(id(i), false));
+        }
+        assertEquals(5, graph.getVertexCache().size());
+        // a vertex that is seen again is admitted
+        assertTrue(((HBaseVertex) graph.vertex(id(10))).isCached());
+
+        // scanned vertices bypass the cache
+        long size = graph.getVertexCache().size();
+        assertEquals(20, count(graph.allVertices()));
+        assertEquals(size, graph.getVertexCache().size());
+        assertNull(graph.findVertex(id(15), false));
+    }
+}
@@ -0,0 +1,49 @@
+package io.hgraphdb;
+
+import com.google.common.cache.CacheStats;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HBaseElementCacheTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setElementCacheMaxBytes(4096);
+        config.setElementCacheAdmissionFrequency(1);
+        return config;
+    }
+
+    @Test
+    public void testWeighedElementCache() {
+        String large = new String(new char[10000]).replace('\0', 'x');
+        for (int i = 0; i < 3; i++) {
+            graph.addVertex(T.id, id(i), "key", large);
+        }
+        for (int i = 3; i < 6; i++) {
+            graph.addVertex(T.id, id(i), "key", i);
+        }
+        CacheStats before = graph.getVertexCacheStats();
+        assertTrue(before.evictionCount() >= 3);
+
+        // the large vertices are evicted once weighed, the small ones stay cached
+        assertNull(graph.findVertex(id(0), false));
+        assertNotNull(graph.findVertex(id(3), false));
+        assertEquals(large, graph.vertex(id(1)).value("key"));
+
+        // a vertex is weighed again once its properties change
+        graph.vertex(id(4)).property("key", large);
+        assertNull(graph.findVertex(id(4), false));
+
+        CacheStats after = graph.getVertexCacheStats();
+        assertTrue(after.missCount() > before.missCount());
+        assertTrue(after.hitCount() > before.hitCount());
+        assertTrue(after.loadCount() > before.loadCount());
+        assertTrue(after.totalLoadTime() > 0);
+    }
+}
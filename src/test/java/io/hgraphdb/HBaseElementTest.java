@@ -5,9 +5,17 @@ import com.esotericsoftware.kryo.KryoSerializable;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.google.common.collect.ImmutableMap;
+import io.hgraphdb.util.ParallelResultScanner;
+import io.hgraphdb.util.ReadAheadIterator;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
 import java.io.Serializable;
@@ -16,8 +24,15 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 
 import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
 import static org.junit.Assert.*;
@@ -105,6 +120,210 @@ public class HBaseElementTest extends HBaseGraphTest {
         assertEquals(2, count(it));
     }
 
+    @Test
+    public void testVerticesAndEdgesByIdsInBatches() {
+        graph.configuration().setLoadBatchSize(3);
+        Vertex prev = null;
+        for (int i = 0; i < 10; i++) {
+            Vertex v = graph.addVertex(T.id, id(i), T.label, "a", "key1", i);
+            if (prev != null) prev.addEdge("b", v, T.id, id(100 + i), "key2", i);
+            prev = v;
+        }
+
+        Iterator<Vertex> it = graph.vertices(id(0), id(50), id(4), id(9), id(51), id(2));
+        assertEquals(id(0), it.next().id());
+        assertEquals(id(4), it.next().id());
+        Vertex v = it.next();
+        assertEquals(id(9), v.id());
+        assertEquals(9, (int) v.value("key1"));
+        assertEquals(id(2), it.next().id());
+        assertFalse(it.hasNext());
+
+        Iterator<Edge> edges = graph.edges(id(101), id(150), id(105), id(109));
+        Edge e = edges.next();
+        assertEquals(id(101), e.id());
+        assertEquals(id(0), e.outVertex().id());
+        assertEquals(id(105), edges.next().id());
+        assertEquals(id(109), edges.next().id());
+        assertFalse(edges.hasNext());
+    }
+
+    @Test
+    public void testVertexStepInBatches() {
+        for (int i = 0; i < 5; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a");
+        }
+        for (int i = 0; i < 5; i++) {
+            Vertex v = graph.vertex(id(i));
+            for (int j = i + 1; j < 5; j++) {
+                v.addEdge("b", graph.vertex(id(j)), "key1", j);
+            }
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        List<Object> expected = g.V(id(0), id(1), id(2)).out("b").out("b").id().toList();
+        assertEquals(10, expected.size());
+
+        graph.configuration().setVertexStepBatchSize(3);
+        assertEquals(expected, g.V(id(0), id(1), id(2)).out("b").out("b").id().toList());
+        assertEquals(10L, (long) g.V().out("b").count().next());
+        assertEquals(4L, (long) g.V().outE("b").has("key1", 4).count().next());
+        assertEquals(8L, (long) g.V(id(0), id(4)).both("b").count().next());
+        assertEquals(0L, (long) g.V().out("c").count().next());
+    }
+
+    @Test
+    public void testParallelScans() {
+        Set<Object> ids = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            Vertex v = graph.addVertex(T.id, id(i), T.label, i < 20 ? "a" : "b");
+            if (i > 0) graph.vertex(id(i - 1)).addEdge("c", v);
+            ids.add(id(i));
+        }
+
+        graph.configuration().setScanParallelism(4);
+        assertEquals(ids, IteratorUtils.set(IteratorUtils.map(graph.allVertices(), Vertex::id)));
+        assertEquals(49, count(graph.allEdges()));
+        assertEquals(20, count(graph.verticesByLabel("a")));
+        assertEquals(50, graph.countVertices());
+        assertEquals(30L, (long) graph.traversal().V().hasLabel("b").count().next());
+
+        Iterator<Vertex> it = graph.allVertices();
+        it.next();
+        CloseableIterator.closeIterator(it);
+        assertEquals(50, count(graph.allVertices()));
+    }
+
+    @Test
+    public void testParallelScansWithBusyScanThreads() {
+        for (int i = 0; i < 50; i++) {
+            graph.addVertex(T.id, id(i), T.label, i < 20 ? "a" : "b");
+        }
+
+        graph.configuration().setScanParallelism(4).setScanThreads(1);
+        assertEquals(50, count(graph.allVertices()));
+        assertEquals(30L, (long) graph.traversal().V().hasLabel("b").count().next());
+        assertEquals(20, count(graph.verticesByLabel("a")));
+    }
+
+    @Test
+    public void testParallelScanAbandoned() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a");
+        }
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) graph.getScanExecutor();
+        ResultScanner scanner = new ParallelResultScanner(graph.connection(),
+                graph.getVertexModel().getTable().getName(), new Scan(), graph.getSaltBuckets(), 2, 200, executor);
+        assertNotNull(scanner.next());
+        for (int i = 0; i < 50 && executor.getActiveCount() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, executor.getActiveCount());
+        try {
+            scanner.next();
+            fail("Scan should have been given up");
+        } catch (HBaseGraphException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReadAheadAbandoned() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) graph.getScanExecutor();
+        AtomicBoolean sourceClosed = new AtomicBoolean();
+        Iterator<Integer> it = new ReadAheadIterator<>(IntStream.iterate(0, i -> i + 1).iterator(),
+                () -> sourceClosed.set(true), 10, 2, 200, executor);
+        assertEquals(0, (int) it.next());
+        for (int i = 0; i < 50 && executor.getActiveCount() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, executor.getActiveCount());
+        assertTrue(sourceClosed.get());
+        try {
+            it.hasNext();
+            fail("Read ahead should have been given up");
+        } catch (HBaseGraphException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCounts() {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        graph.createIndex(ElementType.EDGE, "b", "key2");
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(T.id, id(i), T.label, i < 4 ? "a" : "c", "key1", i % 2);
+        }
+        HBaseVertex v0 = (HBaseVertex) graph.vertex(id(0));
+        for (int i = 1; i < 6; i++) {
+            v0.addEdge(i < 4 ? "b" : "d", graph.vertex(id(i)), "key2", i % 2);
+        }
+        graph.vertex(id(1)).addEdge("b", v0);
+
+        assertEquals(6, graph.countVertices());
+        assertEquals(4, graph.countVertices("a"));
+        assertEquals(2, graph.countVertices("a", "key1", 1));
+        assertEquals(6, graph.countEdges());
+        assertEquals(4, graph.countEdges("b"));
+        assertEquals(5, v0.countEdges(Direction.OUT));
+        assertEquals(3, v0.countEdges(Direction.OUT, "b"));
+        assertEquals(1, v0.countEdges(Direction.IN, "b"));
+        assertEquals(6, v0.countEdges(Direction.BOTH));
+        assertEquals(2, v0.countEdges(Direction.OUT, "b", "key2", 1));
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(6L, (long) g.V().count().next());
+        assertEquals(4L, (long) g.V().hasLabel("a").count().next());
+        assertEquals(2L, (long) g.V().hasLabel("c").count().next());
+        assertEquals(2L, (long) g.V().hasLabel("a").has("key1", 0).count().next());
+        assertEquals(2L, (long) g.E().hasLabel("d").count().next());
+        assertEquals(3L, (long) g.V(id(0)).outE("b").count().next());
+        assertEquals(5L, (long) g.V(id(0)).out().count().next());
+        assertEquals(6L, (long) g.V().out().count().next());
+        assertEquals(12L, (long) g.V().both().count().next());
+        assertEquals(0L, (long) g.V(id(5)).outE().count().next());
+        assertTrue(g.V().hasLabel("a").count().explain().toString().contains("HBaseCountStep"));
+        assertTrue(g.V(id(0)).outE("b").count().explain().toString().contains("HBaseVertexCountStep"));
+    }
+
+    @Test
+    public void testCountsWithStaleEntries() {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        graph.createIndex(ElementType.EDGE, "b", "key2");
+        for (int i = 0; i < 4; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i % 2);
+        }
+        HBaseVertex v0 = (HBaseVertex) graph.vertex(id(0));
+        for (int i = 1; i < 4; i++) {
+            v0.addEdge("b", graph.vertex(id(i)), "key2", 1);
+        }
+        long now = System.currentTimeMillis();
+        // index entries of a removed vertex, and of a vertex that no longer has the value
+        graph.getVertexIndexModel().writeVertexIndex(
+                new HBaseVertex(graph, id(9), "a", now, now, new HashMap<>(ImmutableMap.of("key1", 1))), "key1");
+        graph.getVertexIndexModel().writeVertexIndex(
+                new HBaseVertex(graph, id(2), "a", now, now, new HashMap<>(ImmutableMap.of("key1", 1))), "key1");
+        // adjacency and index rows of a removed edge
+        HBaseEdge removed = new HBaseEdge(graph, id(20), "b", now, now, new HashMap<>(ImmutableMap.of("key2", 1)),
+                graph.vertex(id(1)), v0);
+        graph.getEdgeIndexModel().writeEdgeEndpoints(removed);
+        graph.getEdgeIndexModel().writeEdgeIndex(removed, "key2");
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(2, graph.countVertices("a", "key1", 1));
+        assertEquals(2L, (long) g.V().has("a", "key1", 1).count().next());
+        assertEquals(3, v0.countEdges(Direction.OUT, "b"));
+        assertEquals(3L, (long) g.V(id(0)).outE("b").count().next());
+        assertEquals(3L, (long) g.V(id(0)).out("b").count().next());
+        assertEquals(3, v0.countEdges(Direction.OUT, "b", "key2", 1));
+
+        assertEquals(2, g.V().has("a", "key1", 1).toList().size());
+        assertEquals(3, g.V(id(0)).outE("b").toList().size());
+        assertEquals(3, g.V(id(0)).out("b").toList().size());
+        assertEquals(3, count(v0.edges(Direction.OUT, "b", "key2", 1)));
+    }
+
     @Test
     public void testCountersNotSupportedWithoutSchema() {
         assertEquals(0, count(graph.vertices()));
@@ -4,6 +4,11 @@ import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.junit.After;
 import org.junit.Before;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+
 public class HBaseGraphTest {
 
     protected static final HBaseGraphConfiguration.InstanceType type = System.getenv("HGRAPHDB_INSTANCE_TYPE") != null
@@ -49,4 +54,23 @@ public class HBaseGraphTest {
     protected static String id(int idNum) {
         return String.format("%08d", idNum);
     }
+
+    protected interface Invocation {
+        Object intercept(Method method, Object[] args, Callable<Object> invoke) throws Exception;
+    }
+
+    /**
+     * Wrap the given connection, table or other interface so that its calls pass through
+     * the given invocation, such as to hold a call until a test is ready for it to proceed.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> T intercept(T target, Class<T> type, Invocation invocation) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                return invocation.intercept(method, args, () -> method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
 }
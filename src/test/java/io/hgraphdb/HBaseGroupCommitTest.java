@@ -0,0 +1,112 @@
+package io.hgraphdb;
+
+import io.hgraphdb.mutators.GroupCommitWriter;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HBaseGroupCommitTest extends HBaseGraphTest {
+
+    private final AtomicBoolean blockBatch = new AtomicBoolean(false);
+    private final CountDownLatch batchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBatch = new CountDownLatch(1);
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setGroupCommitWindowMicros(10000000);
+        config.setGroupCommitMaxBatchSize(100);
+        return config;
+    }
+
+    /**
+     * Open the graph on a connection that holds the first batch of the vertex table once
+     * blockBatch is set, until releaseBatch is counted down.
+     */
+    @Before
+    @Override
+    public void makeGraph() {
+        HBaseGraphConfiguration config = generateGraphConfig("testgraph");
+        Connection connection = HBaseGraphUtils.getConnection(config);
+        graph = new HBaseGraph(config, intercept(connection, Connection.class, (method, args, invoke) -> {
+            if (!method.getName().equals("getTable")
+                    || !((TableName) args[0]).getQualifierAsString().endsWith(Constants.VERTICES)) {
+                return invoke.call();
+            }
+            return intercept((Table) invoke.call(), Table.class, (tableMethod, tableArgs, tableInvoke) -> {
+                if (tableMethod.getName().equals("batch") && blockBatch.compareAndSet(true, false)) {
+                    batchStarted.countDown();
+                    releaseBatch.await();
+                }
+                return tableInvoke.call();
+            });
+        }));
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+
+        int threads = 8;
+        for (int i = 0; i < threads; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i % 2);
+        }
+        GroupCommitWriter groupCommit = graph.getVertexModel().getGroupCommit();
+        long writes = groupCommit.getWriteCount();
+        long batches = groupCommit.getBatchCount();
+        blockBatch.set(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int n = i;
+            results.add(executor.submit(() -> {
+                graph.vertex(id(n)).property("key2", n);
+                // only one caller may create the same vertex
+                try {
+                    graph.addVertex(T.id, id(100), T.label, "b");
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            }));
+        }
+        batchStarted.await();
+        long deadline = System.currentTimeMillis() + 10000;
+        try {
+            while (groupCommit.getWriteCount() - writes < threads) {
+                assertTrue("Writes were not gathered", System.currentTimeMillis() < deadline);
+                Thread.sleep(1);
+            }
+        } finally {
+            releaseBatch.countDown();
+        }
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) created++;
+        }
+        executor.shutdown();
+
+        // the writes that queued behind the first batch were sent together
+        assertEquals(2, groupCommit.getBatchCount() - batches);
+        assertEquals(1, created);
+        assertEquals(threads + 1, count(graph.allVertices()));
+        assertEquals(threads / 2, count(graph.verticesByLabel("a", "key1", 1)));
+        assertEquals(3, (int) graph.vertex(id(3)).value("key2"));
+    }
+}
@@ -1,20 +1,35 @@
 package io.hgraphdb;
 
+import io.hgraphdb.util.MergingResultScanner;
 import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.*;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class HBaseIndexTest extends HBaseGraphTest {
@@ -52,6 +67,23 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(2, count(it));
     }
 
+    @Test
+    public void testVertexIndexInBatches() {
+        graph.configuration().setLazyLoading(false).setLoadBatchSize(2);
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 5; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", 1);
+        }
+        graph.vertex(id(2)).property("key1", 2);
+        graph.vertex(id(3)).remove();
+
+        Iterator<Vertex> it = graph.verticesByLabel("a", "key1", 1);
+        assertEquals(3, count(it));
+        it = graph.verticesByLabel("a", "key1", 2);
+        assertEquals(id(2), it.next().id());
+        assertFalse(it.hasNext());
+    }
+
     @Test
     public void testPopulateVertexIndex() throws Exception {
         assertEquals(0, count(graph.vertices()));
@@ -172,6 +204,80 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(4, count(it));
     }
 
+    @Test
+    public void testValueBucketVertexIndex() throws Exception {
+        graph.createIndex(ElementType.VERTEX, "a", "key1", false, 8, false, false);
+        graph.createIndex(ElementType.VERTEX, "a", "key2", true, 8, false, false);
+        for (int i = 0; i < 30; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i % 10, "key2", i);
+        }
+
+        Set<Byte> salts = new HashSet<>();
+        try (Table table = graph.connection().getTable(HBaseGraphUtils.getTableName(graph.configuration(), Constants.VERTEX_INDICES));
+             ResultScanner scanner = table.getScanner(new Scan())) {
+            for (Result result : scanner) {
+                salts.add(result.getRow()[0]);
+            }
+        }
+        assertTrue(salts.size() > 2);
+
+        assertEquals(3, count(graph.verticesByLabel("a", "key1", 4)));
+        assertEquals(3, graph.countVertices("a", "key1", 4));
+        assertEquals(id(17), graph.verticesByLabel("a", "key2", 17).next().id());
+        assertEquals(9, count(graph.verticesInRange("a", "key1", 2, 5)));
+        assertEquals(Arrays.asList(5, 6, 7, 8),
+                IteratorUtils.list(IteratorUtils.map(graph.verticesWithLimit("a", "key2", 5, 4), v -> v.<Integer>value("key2"))));
+        if (graph.configuration().getInstanceType() != HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            assertEquals(Arrays.asList(29, 28, 27),
+                    IteratorUtils.list(IteratorUtils.map(graph.verticesWithLimit("a", "key2", null, 3, true), v -> v.<Integer>value("key2"))));
+        }
+
+        try {
+            graph.addVertex(T.id, id(30), T.label, "a", "key2", 17);
+            fail("should reject non-unique key");
+        } catch (HBaseGraphNotUniqueException ignored) {
+        }
+
+        graph.vertex(id(4)).remove();
+        assertEquals(2, count(graph.verticesByLabel("a", "key1", 4)));
+    }
+
+    @Test
+    public void testValueBucketVertexIndexWithBusyScanThreads() {
+        graph.configuration().setScanThreads(1);
+        graph.createIndex(ElementType.VERTEX, "a", "key2", true, 8, false, false);
+        for (int i = 0; i < 30; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key2", i);
+        }
+
+        // one bucket is scanned on the only scan thread, and the others are read in turn
+        assertEquals(10, count(graph.verticesInRange("a", "key2", 10, 20)));
+        assertEquals(Arrays.asList(5, 6, 7, 8),
+                IteratorUtils.list(IteratorUtils.map(graph.verticesWithLimit("a", "key2", 5, 4), v -> v.<Integer>value("key2"))));
+    }
+
+    @Test
+    public void testMergingScanAbandoned() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a");
+        }
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) graph.getScanExecutor();
+        ResultScanner scanner = new MergingResultScanner(graph.connection(), graph.getVertexModel().getTable().getName(),
+                Arrays.asList(new Scan(), new Scan()), 200, executor);
+        assertNotNull(scanner.next());
+        for (int i = 0; i < 50 && executor.getActiveCount() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, executor.getActiveCount());
+        try {
+            scanner.next();
+            fail("Scan should have been given up");
+        } catch (HBaseGraphException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testEdgeIndex() {
         assertEquals(0, count(graph.vertices()));
@@ -355,6 +461,29 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(4, count(it));
     }
 
+    @Test
+    public void testAdjacentVerticesInBatches() throws Exception {
+        graph.configuration().setLazyLoading(false).setLoadBatchSize(2);
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        for (int i = 1; i < 8; i++) {
+            v0.addEdge("b", graph.addVertex(T.id, id(i)), T.id, id(10 + i));
+        }
+        // leave the edges of two vertices behind, in different batches
+        Table table = graph.getVertexModel().getTable();
+        table.delete(new Delete(ValueUtils.serializeWithSalt(id(3), graph.getSaltBuckets())));
+        table.delete(new Delete(ValueUtils.serializeWithSalt(id(6), graph.getSaltBuckets())));
+        assertEquals(7, count(v0.edges(Direction.OUT)));
+
+        List<Object> ids = IteratorUtils.list(IteratorUtils.map(v0.vertices(Direction.OUT), Element::id));
+        assertEquals(Arrays.asList(id(1), id(2), id(4), id(5), id(7)), ids);
+
+        // the index entries of the edges to the missing vertices are removed in the background
+        for (int i = 0; i < 50 && count(v0.edges(Direction.OUT)) > 5; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(5, count(v0.edges(Direction.OUT)));
+    }
+
     @Test
     public void testIndexRemoval() {
         assertEquals(0, count(graph.vertices()));
@@ -465,6 +594,64 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(1, count(it));
     }
 
+    @Test
+    public void testGremlinVertexIndexRange() {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i);
+        }
+        graph.addVertex(T.id, id(10), T.label, "a", "key1", "str");
+
+        assertEquals(6, count(graph.verticesInRange("a", "key1", 3, false, null, false)));
+        assertEquals(4, count(graph.verticesInRange("a", "key1", null, false, 3, true)));
+        assertEquals(3, count(graph.verticesInRange("a", "key1", 7, true, 9, true)));
+        graph.vertex(id(10)).remove();
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(6L, (long) g.V().hasLabel("a").has("key1", P.gt(3)).count().next());
+        assertEquals(7L, (long) g.V().hasLabel("a").has("key1", P.gte(3)).count().next());
+        assertEquals(3L, (long) g.V().hasLabel("a").has("key1", P.lt(3)).count().next());
+        assertEquals(4L, (long) g.V().hasLabel("a").has("key1", P.lte(3)).count().next());
+        assertEquals(3L, (long) g.V().hasLabel("a").has("key1", P.between(2, 5)).count().next());
+        assertEquals(2L, (long) g.V().hasLabel("a").has("key1", P.inside(2, 5)).count().next());
+        assertEquals(2L, (long) g.V().hasLabel("a").has("key1", P.gt(7)).has("key1", P.gte(2)).count().next());
+        assertEquals(0L, (long) g.V().hasLabel("a").has("key1", P.gt(7)).has("key1", P.lt(5)).count().next());
+    }
+
+    @Test
+    public void testGremlinIndexRangeMixedNumbers() {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        Vertex v = graph.addVertex(T.id, id(10));
+        for (int i = 0; i < 10; i++) {
+            Object value = i % 2 == 0 ? (Object) i : (Object) (long) i;
+            v.addEdge("b", graph.addVertex(T.id, id(i), T.label, "a", "key1", value), "key1", value);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(6L, (long) g.V().hasLabel("a").has("key1", P.gt(3)).count().next());
+        assertEquals(3L, (long) g.V().hasLabel("a").has("key1", P.lt(3L)).count().next());
+        assertEquals(3L, (long) g.V().hasLabel("a").has("key1", P.between(2, 5)).count().next());
+        assertEquals(2L, (long) g.V(id(10)).outE("b").has("key1", P.gte(8L)).count().next());
+        assertEquals(4L, (long) g.V(id(10)).outE("b").has("key1", P.lt(4.5)).has("key1", P.gt(0)).count().next());
+    }
+
+    @Test
+    public void testGremlinVertexIndexOrderLimitMixedNumbers() {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 10; i++) {
+            Object value = i < 5 ? (Object) (long) i : (Object) (i + 10);
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", value);
+        }
+
+        // the values of each type are apart in the index, so it is not read in order
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(0L, 1L, 2L),
+                g.V().hasLabel("a").order().by("key1", Order.incr).limit(3).values("key1").toList());
+        assertEquals(Arrays.asList(19, 18, 17),
+                g.V().hasLabel("a").order().by("key1", Order.decr).limit(3).values("key1").toList());
+    }
+
     @Test
     public void testGremlinEdgeIndex() {
         assertEquals(0, count(graph.vertices()));
@@ -483,6 +670,76 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(2, count(it));
     }
 
+    @Test
+    public void testGremlinEdgeIndexRangeOrderLimit() {
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        for (int i = 1; i <= 10; i++) {
+            v0.addEdge("b", graph.addVertex(T.id, id(i)), "key1", (i * 7) % 10);
+        }
+        v0.addEdge("c", graph.vertex(id(1)), "key1", 5);
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(3, 4, 5),
+                g.V(id(0)).outE("b").has("key1", P.between(3, 6)).values("key1").order().toList());
+        assertEquals(Arrays.asList(8, 9),
+                g.V(id(0)).outE("b").has("key1", P.gt(7)).values("key1").order().toList());
+        assertEquals(Arrays.asList(0, 1, 2),
+                g.V(id(0)).outE("b").order().by("key1", Order.incr).limit(3).values("key1").toList());
+        if (graph.configuration().getInstanceType() != HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            assertEquals(Arrays.asList(9, 8),
+                    g.V(id(0)).outE("b").order().by("key1", Order.decr).limit(2).values("key1").toList());
+        }
+        assertEquals(Arrays.asList(id(4), id(7)),
+                g.V(id(0)).outE("b").has("key1", P.gte(8)).inV().id().order().toList());
+        assertEquals(Arrays.asList(id(0), id(0)),
+                g.V(id(4), id(7)).inE("b").has("key1", P.gte(8)).outV().id().toList());
+        assertEquals(1L, (long) g.V(id(0)).outE("b").has("key1", P.lt(1)).otherV().count().next());
+        assertEquals(1L, (long) g.V(id(0)).outE("b").has("key1", P.gt(8)).as("e").inV().select("e").count().next());
+    }
+
+    @Test
+    public void testGremlinEdgeIndexOrderLimitMixedNumbers() {
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        for (int i = 1; i <= 10; i++) {
+            Object value = i <= 5 ? (Object) (long) i : (Object) (i + 10);
+            v0.addEdge("b", graph.addVertex(T.id, id(i)), "key1", value);
+        }
+
+        // the values of each type are apart in the index, so it is not read in order
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(1L, 2L, 3L),
+                g.V(id(0)).outE("b").order().by("key1", Order.incr).limit(3).values("key1").toList());
+        assertEquals(Arrays.asList(20, 19, 18),
+                g.V(id(0)).outE("b").order().by("key1", Order.decr).limit(3).values("key1").toList());
+    }
+
+    @Test
+    public void testPropertyProjection() {
+        for (int i = 0; i < 5; i++) {
+            Vertex v = graph.addVertex(T.id, id(i), T.label, i < 3 ? "a" : "b", "key1", i, "key2", "v" + i);
+            if (i > 0) graph.vertex(id(i - 1)).addEdge("c", v, T.id, id(10 + i), "key1", i, "key2", "e" + i);
+        }
+
+        HBaseVertex v = (HBaseVertex) graph.vertices(new Object[]{id(1)}, Collections.singleton("key1")).next();
+        assertFalse(v.isFullyLoaded());
+        assertEquals(1, (int) v.value("key1"));
+        assertEquals("v1", v.value("key2"));
+        assertEquals(2, count(v.properties()));
+        HBaseEdge e = (HBaseEdge) graph.edges(new Object[]{id(11)}, Collections.singleton("key2")).next();
+        assertEquals("e1", e.value("key2"));
+        assertEquals(id(0), e.outVertex().id());
+        assertEquals(1, (int) e.value("key1"));
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(0, 1, 2), g.V().hasLabel("a").values("key1").order().toList());
+        assertEquals(Arrays.asList("v3", "v4"), g.V().has("key1", P.gt(2)).values("key2").order().toList());
+        assertEquals(10L, g.V().values("key1").sum().next().longValue());
+        assertEquals(3L, (long) g.V().hasLabel("a").has("key2").where(__.out("c")).count().next());
+        assertEquals(Arrays.asList("e1", "e2"), g.E().has("key1", P.lt(3)).values("key2").order().toList());
+    }
+
     @Test
     public void testIndexExample() {
         assertEquals(0, count(graph.vertices()));
@@ -0,0 +1,44 @@
+package io.hgraphdb;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
+import static org.junit.Assert.assertEquals;
+
+public class HBaseLabelIndexTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setUseLabelIndex(true);
+        return config;
+    }
+
+    @Test
+    public void testLabelIndex() {
+        for (int i = 0; i < 10; i++) {
+            Vertex v = graph.addVertex(T.id, id(i), T.label, i % 2 == 0 ? "a" : "b", "key1", i);
+            if (i > 0) graph.vertex(id(i - 1)).addEdge(i < 4 ? "c" : "d", v, T.id, id(10 + i));
+        }
+        graph.vertex(id(2)).remove();
+        graph.edge(id(15)).remove();
+
+        assertEquals(4, count(graph.verticesByLabel("a")));
+        assertEquals(4, graph.countVertices("a"));
+        assertEquals(5, count(graph.verticesByLabel("b")));
+        assertEquals(1, count(graph.edgesByLabel("c")));
+        assertEquals(5, graph.countEdges("d"));
+        assertEquals(0, count(graph.verticesByLabel("c")));
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(0, 4, 6, 8), g.V().hasLabel("a").values("key1").order().toList());
+        assertEquals(Arrays.asList(id(16), id(17)), g.E().hasLabel("d").has(T.id, P.within(id(16), id(17), id(13))).id().order().toList());
+        assertEquals(5L, (long) g.E().hasLabel("d").count().next());
+    }
+}
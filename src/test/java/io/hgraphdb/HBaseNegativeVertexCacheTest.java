@@ -0,0 +1,78 @@
+package io.hgraphdb;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HBaseNegativeVertexCacheTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setNegativeCacheMaxSize(100);
+        config.setUseVertexIdFilter(true);
+        return config;
+    }
+
+    @Test
+    public void testNegativeVertexCache() {
+        graph.addVertex(T.id, id(0));
+        graph.rebuildVertexIdFilter();
+
+        // ids that were never written are ruled out by the filter
+        long loads = graph.getVertexCacheStats().loadCount();
+        try {
+            graph.vertex(id(1));
+            fail("Vertex should not exist");
+        } catch (HBaseGraphNotFoundException e) {
+            // ok
+        }
+        assertEquals(0, count(graph.vertices(id(1), id(2))));
+        assertEquals(loads, graph.getVertexCacheStats().loadCount());
+
+        // ids that were not found are remembered
+        graph.vertex(id(0)).remove();
+        try {
+            graph.vertex(id(0));
+            fail("Vertex should not exist");
+        } catch (HBaseGraphNotFoundException e) {
+            // ok
+        }
+        loads = graph.getVertexCacheStats().loadCount();
+        assertEquals(0, count(graph.vertices(id(0))));
+        assertEquals(loads, graph.getVertexCacheStats().loadCount());
+
+        graph.addVertex(T.id, id(0));
+        graph.addVertex(T.id, id(1));
+        assertEquals(id(0), graph.vertex(id(0)).id());
+        assertEquals(2, count(graph.vertices(id(0), id(1))));
+    }
+
+    @Test
+    public void testVertexIdFilterRequiresRefresh() {
+        try {
+            new HBaseGraph(generateGraphConfig("testgraph").setVertexIdFilterRefreshSecs(0), graph.connection());
+            fail("Vertex id filter should require a refresh interval");
+        } catch (HBaseGraphException e) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testVertexIdFilterBeforeBuild() {
+        NegativeVertexCache cache = new NegativeVertexCache(100, 60, 1000, 0.01);
+        // nothing is ruled out until the filter is built
+        assertFalse(cache.isMissing(id(0)));
+        cache.rebuildFilter(() -> IteratorUtils.of(ValueUtils.serialize(id(0))));
+        assertFalse(cache.isMissing(id(0)));
+        assertTrue(cache.isMissing(id(1)));
+        cache.recordAdded(id(1));
+        assertFalse(cache.isMissing(id(1)));
+    }
+}
@@ -0,0 +1,139 @@
+package io.hgraphdb;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HBaseOffHeapCacheTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setElementCacheMaxSize(0);
+        config.setOffHeapCacheMaxBytes(1 << 20);
+        return config;
+    }
+
+    @Test
+    public void testOffHeapRowCache() {
+        for (int i = 0; i < 3; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i);
+        }
+        OffHeapRowCache rowCache = graph.getVertexModel().getRowCache();
+
+        assertEquals(1, (int) graph.vertex(id(1)).value("key1"));
+        assertEquals(0, rowCache.stats().hitCount());
+        Vertex v = graph.vertex(id(1));
+        assertEquals(1, rowCache.stats().hitCount());
+        assertEquals("a", v.label());
+        assertEquals(1, (int) v.value("key1"));
+
+        // writes drop the cached row
+        v.property("key1", 5);
+        assertEquals(5, (int) graph.vertex(id(1)).value("key1"));
+
+        List<Vertex> vertices = IteratorUtils.list(graph.vertices(id(0), id(1), id(2)));
+        assertEquals(3, vertices.size());
+        assertEquals(5, (int) vertices.get(1).value("key1"));
+        assertEquals(2, (int) vertices.get(2).value("key1"));
+        assertEquals(3, IteratorUtils.count(graph.vertices(id(0), id(1), id(2))));
+        assertEquals(5, rowCache.stats().hitCount());
+    }
+
+    @Test
+    public void testOffHeapRowCacheInvalidatedDuringLoad() throws Exception {
+        Vertex v = graph.addVertex(T.id, id(0), T.label, "a", "key1", 0);
+        OffHeapRowCache rowCache = graph.getVertexModel().getRowCache();
+        byte[] row = ValueUtils.serializeWithSalt(id(0), graph.getSaltBuckets());
+
+        // a load reads the row, then a write invalidates it before the load caches it
+        long generation = rowCache.generation(row);
+        Result stale = graph.getVertexModel().getTable().get(new Get(row));
+        v.property("key1", 1);
+        rowCache.put(stale, generation);
+        assertNull(rowCache.get(row));
+        assertEquals(1, (int) graph.vertex(id(0)).value("key1"));
+        assertNotNull(rowCache.get(row));
+    }
+
+    @Test
+    public void testOffHeapRowCacheReusesBlocks() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i);
+        }
+        Table table = graph.getVertexModel().getTable();
+        OffHeapRowCache rowCache = new OffHeapRowCache(1 << 16, 60);
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 1000; i++) {
+                byte[] row = ValueUtils.serializeWithSalt(id(i), graph.getSaltBuckets());
+                Result expected = table.get(new Get(row));
+                Result cached = rowCache.get(row);
+                if (cached != null) {
+                    Result.compareResults(expected, cached);
+                } else {
+                    rowCache.put(expected, rowCache.generation(row));
+                }
+            }
+        }
+        // evicted rows give their blocks back rather than allocating more direct memory
+        assertTrue(rowCache.stats().evictionCount() > 0);
+        assertTrue(rowCache.allocatedBytes() <= 1 << 16);
+    }
+
+    @Test
+    public void testOffHeapRowCacheBlockReusedDuringRead() throws Exception {
+        // few blocks for many rows, so that blocks are reused for other rows while being read
+        OffHeapRowCache rowCache = new OffHeapRowCache(1 << 12, 60);
+        int rows = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    int mismatches = 0;
+                    Random random = new Random();
+                    for (int i = 0; i < 50000; i++) {
+                        byte[] row = Bytes.toBytes(random.nextInt(rows));
+                        Result cached = rowCache.get(row);
+                        if (cached == null) {
+                            Cell cell = CellUtil.createCell(row, Constants.DEFAULT_FAMILY_BYTES,
+                                    Bytes.toBytes("q"), 1L, KeyValue.Type.Put.getCode(), row);
+                            rowCache.put(Result.create(new Cell[]{cell}), rowCache.generation(row));
+                        } else {
+                            byte[] value = cached.getValue(Constants.DEFAULT_FAMILY_BYTES, Bytes.toBytes("q"));
+                            if (!Arrays.equals(row, value)) mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                assertEquals(0, (int) future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(rowCache.stats().evictionCount() > 0);
+    }
+}
@@ -0,0 +1,56 @@
+package io.hgraphdb;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HBaseSaltBucketsTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setSaltBuckets(10);
+        config.setUseLabelIndex(true);
+        config.setScanParallelism(4);
+        return config;
+    }
+
+    @Test
+    public void testSaltBuckets() throws Exception {
+        assertEquals(10, graph.getSaltBuckets());
+        for (int i = 0; i < 50; i++) {
+            Vertex v = graph.addVertex(T.id, id(i), T.label, i < 20 ? "a" : "b");
+            if (i > 0) graph.vertex(id(i - 1)).addEdge("c", v);
+        }
+
+        try (Table table = graph.connection().getTable(HBaseGraphUtils.getTableName(graph.configuration(), Constants.VERTICES));
+             ResultScanner scanner = table.getScanner(new Scan())) {
+            for (Result result : scanner) {
+                assertTrue(result.getRow()[0] >= 0 && result.getRow()[0] < 10);
+            }
+        }
+        assertEquals(50, count(graph.allVertices()));
+        assertEquals(49, count(graph.allEdges()));
+        assertEquals(20, count(graph.verticesByLabel("a")));
+        assertEquals(30L, (long) graph.traversal().V().hasLabel("b").count().next());
+        assertEquals(id(1), graph.vertex(id(0)).vertices(Direction.OUT).next().id());
+
+        byte[][] splitKeys = HBaseGraphUtils.getSplitKeys(10, 4);
+        assertArrayEquals(new byte[][]{{2}, {5}, {7}}, splitKeys);
+        splitKeys = HBaseGraphUtils.getSplitKeys(256, 16);
+        for (int i = 0; i < splitKeys.length; i++) {
+            assertEquals(i + 1, (splitKeys[i][0] & 0xff) / 16);
+            assertEquals(0, (splitKeys[i][0] & 0xff) % 16);
+        }
+    }
+}
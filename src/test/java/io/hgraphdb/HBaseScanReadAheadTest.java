@@ -0,0 +1,50 @@
+package io.hgraphdb;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class HBaseScanReadAheadTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setLoadBatchSize(3);
+        config.setScanReadAheadPages(2);
+        config.setScanReadAheadHydrate(true);
+        return config;
+    }
+
+    @Test
+    public void testScanReadAhead() {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        Vertex v0 = graph.addVertex(T.id, id(0), T.label, "a", "key1", 0);
+        for (int i = 1; i < 20; i++) {
+            Vertex v = graph.addVertex(T.id, id(i), T.label, "a", "key1", i % 2);
+            v0.addEdge("b", v, "key2", i);
+        }
+
+        assertEquals(20, count(graph.allVertices()));
+        assertEquals(10, count(graph.verticesByLabel("a", "key1", 1)));
+        assertEquals(19, count(v0.edges(Direction.OUT)));
+        List<Object> values = IteratorUtils.list(IteratorUtils.map(v0.edges(Direction.OUT, "b"), e -> e.value("key2")));
+        assertEquals(19, values.size());
+
+        // closing a scan early stops reading ahead
+        Iterator<Vertex> it = graph.verticesByLabel("a", "key1", 1);
+        it.next();
+        CloseableIterator.closeIterator(it);
+        assertFalse(it.hasNext());
+        assertEquals(10, count(graph.verticesByLabel("a", "key1", 1)));
+    }
+}
@@ -0,0 +1,59 @@
+package io.hgraphdb;
+
+import io.hgraphdb.util.ScanSizer;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
+import static org.junit.Assert.assertEquals;
+
+public class HBaseScanSizingTest extends HBaseGraphTest {
+
+    @Override
+    protected HBaseGraphConfiguration generateGraphConfig(String graphNamespace) {
+        HBaseGraphConfiguration config = super.generateGraphConfig(graphNamespace);
+        config.setScanSizing(true);
+        config.setScanCachingMin(1);
+        config.setScanCachingMax(1000);
+        return config;
+    }
+
+    @Test
+    public void testScanSizing() throws Exception {
+        Vertex v0 = graph.addVertex(T.id, id(0), T.label, "a");
+        for (int i = 1; i < 4; i++) {
+            v0.addEdge("b", graph.addVertex(T.id, id(i), T.label, "a"));
+        }
+        ScanSizer sizer = graph.getScanSizer();
+        assertEquals(1000, sizer.getCaching(ScanSizer.Kind.ADJACENCY, 0));
+        assertEquals(20, sizer.getCaching(ScanSizer.Kind.INDEX_RANGE, 20));
+
+        // unbounded scans are not capped by the rows that scans of their kind usually return
+        assertEquals(3, count(v0.edges(Direction.OUT)));
+        assertEquals(1000, sizer.getCaching(ScanSizer.Kind.ADJACENCY, 0));
+        assertEquals(4, count(graph.allVertices()));
+        assertEquals(1000, sizer.getCaching(ScanSizer.Kind.FULL, 0));
+
+        // scans for a number of results fetch no more rows than that
+        assertEquals(1, count(graph.allVertices(null, 1)));
+        assertEquals(1, sizer.getCaching(ScanSizer.Kind.FULL, 1));
+
+        // pages hold no more rows than fit in the max result size
+        sizer = new ScanSizer(1, 1000, 1);
+        try (Table table = graph.connection().getTable(HBaseGraphUtils.getTableName(graph.configuration(), Constants.VERTICES));
+             ResultScanner scanner = sizer.observe(table.getScanner(new Scan()), ScanSizer.Kind.FULL)) {
+            assertEquals(4, count(scanner.iterator()));
+        }
+        assertEquals(1, sizer.getCaching(ScanSizer.Kind.FULL, 0));
+
+        // without a cap on rows, pages are only bounded by the max result size
+        HBaseGraphConfiguration config = new HBaseGraphConfiguration();
+        sizer = new ScanSizer(config.getScanCachingMin(), config.getScanCachingMax(), config.getScanMaxResultSize());
+        assertEquals(Integer.MAX_VALUE, sizer.getCaching(ScanSizer.Kind.LABEL, 0));
+    }
+}
@@ -1,5 +1,11 @@
 package io.hgraphdb;
 
+import io.hgraphdb.mutators.EdgeIndexWriter;
+import io.hgraphdb.mutators.Mutators;
+import io.hgraphdb.mutators.VertexIndexWriter;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -7,6 +13,9 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 
 import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
@@ -175,4 +184,150 @@ public class HBaseSchemaTest extends HBaseGraphTest {
         Iterator<Edge> it = v1.edges(Direction.OUT, "knows");
         assertEquals(1, count(it));
     }
+
+    @Test
+    public void testVertexIndexRange() {
+        graph.createLabel(ElementType.VERTEX, "a", ValueType.STRING, "key1", ValueType.INT);
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(6L, (long) g.V().hasLabel("a").has("key1", P.gt(3)).count().next());
+        assertEquals(6L, (long) g.V().hasLabel("a").has("key1", P.gt(3L)).count().next());
+        assertEquals(3L, (long) g.V().hasLabel("a").has("key1", P.between(2, 5)).count().next());
+    }
+
+    @Test
+    public void testGremlinVertexIndexOrderLimit() {
+        graph.createLabel(ElementType.VERTEX, "a", ValueType.STRING, "key1", ValueType.INT);
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", (i * 7) % 10);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(0, 1, 2),
+                g.V().hasLabel("a").order().by("key1", Order.incr).limit(3).values("key1").toList());
+        assertEquals(Arrays.asList(2, 3),
+                g.V().hasLabel("a").order().by("key1").range(2, 4).values("key1").toList());
+        if (graph.configuration().getInstanceType() != HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            assertEquals(Arrays.asList(9, 8, 7),
+                    g.V().hasLabel("a").order().by("key1", Order.decr).limit(3).values("key1").toList());
+        }
+        assertEquals(Arrays.asList(7, 6),
+                g.V().hasLabel("a").has("key1", P.lt(8)).order().by("key1", Order.decr).limit(2).values("key1").toList());
+    }
+
+    @Test
+    public void testGremlinVertexIndexOrderLimitWithStaleEntries() {
+        graph.createLabel(ElementType.VERTEX, "a", ValueType.STRING, "key1", ValueType.INT);
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i == 1 ? 20 : i);
+        }
+        // leave entries behind for an old value of a vertex, and for a vertex that is gone
+        long ts = System.currentTimeMillis() - 1000;
+        writeStaleIndexEntries(
+                new HBaseVertex(graph, id(1), "a", ts, ts, new HashMap<>(Collections.singletonMap("key1", 1))),
+                new HBaseVertex(graph, id(99), "a", ts, ts, new HashMap<>(Collections.singletonMap("key1", -1))));
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(0, 2, 3),
+                g.V().hasLabel("a").order().by("key1", Order.incr).limit(3).values("key1").toList());
+        if (graph.configuration().getInstanceType() != HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            assertEquals(Arrays.asList(20, 9),
+                    g.V().hasLabel("a").order().by("key1", Order.decr).limit(2).values("key1").toList());
+        }
+    }
+
+    @Test
+    public void testGremlinVertexIndexRangeOrderLimit() {
+        graph.createLabel(ElementType.VERTEX, "a", ValueType.STRING, "key1", ValueType.INT);
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i);
+        }
+        graph.addVertex(T.id, id(10), T.label, "a", "key1", 3);
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(4, 5, 6),
+                g.V().hasLabel("a").has("key1", P.gt(3)).order().by("key1", Order.incr).limit(3).values("key1").toList());
+        assertEquals(Arrays.asList(3, 3, 4),
+                g.V().hasLabel("a").has("key1", P.gte(3)).order().by("key1", Order.incr).limit(3).values("key1").toList());
+        assertEquals(Collections.singletonList(4),
+                g.V().hasLabel("a").has("key1", P.gt(3).and(P.lt(5))).order().by("key1", Order.incr).limit(3).values("key1").toList());
+        if (graph.configuration().getInstanceType() != HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            assertEquals(Arrays.asList(6, 5),
+                    g.V().hasLabel("a").has("key1", P.lt(7)).order().by("key1", Order.decr).limit(2).values("key1").toList());
+            assertEquals(Arrays.asList(9, 8),
+                    g.V().hasLabel("a").has("key1", P.gte(8)).order().by("key1", Order.decr).limit(3).values("key1").toList());
+        }
+    }
+
+    @Test
+    public void testGremlinEdgeIndexOrderLimit() {
+        graph.createLabel(ElementType.VERTEX, "vertex", ValueType.STRING);
+        graph.createLabel(ElementType.EDGE, "b", ValueType.STRING, "key1", ValueType.INT);
+        graph.connectLabels("vertex", "b", "vertex");
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        for (int i = 1; i <= 10; i++) {
+            v0.addEdge("b", graph.addVertex(T.id, id(i)), T.id, id(10 + i), "key1", (i * 7) % 10);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(0, 1, 2),
+                g.V(id(0)).outE("b").order().by("key1", Order.incr).limit(3).values("key1").toList());
+        if (graph.configuration().getInstanceType() != HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            assertEquals(Arrays.asList(9, 8),
+                    g.V(id(0)).outE("b").order().by("key1", Order.decr).limit(2).values("key1").toList());
+        }
+    }
+
+    @Test
+    public void testGremlinEdgeIndexOrderLimitWithStaleEntries() {
+        graph.createLabel(ElementType.VERTEX, "vertex", ValueType.STRING);
+        graph.createLabel(ElementType.EDGE, "b", ValueType.STRING, "key1", ValueType.INT);
+        graph.connectLabels("vertex", "b", "vertex");
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        for (int i = 1; i <= 10; i++) {
+            v0.addEdge("b", graph.addVertex(T.id, id(i)), T.id, id(10 + i), "key1", i == 1 ? 20 : i);
+        }
+        // leave entries behind for an old value of an edge, and for an edge that is gone
+        long ts = System.currentTimeMillis() - 1000;
+        writeStaleIndexEntries(
+                new HBaseEdge(graph, id(11), "b", ts, ts, new HashMap<>(Collections.singletonMap("key1", 1)),
+                        graph.vertex(id(1)), v0),
+                new HBaseEdge(graph, id(99), "b", ts, ts, new HashMap<>(Collections.singletonMap("key1", -1)),
+                        graph.vertex(id(2)), v0));
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList(2, 3, 4),
+                g.V(id(0)).outE("b").order().by("key1", Order.incr).limit(3).values("key1").toList());
+        if (graph.configuration().getInstanceType() != HBaseGraphConfiguration.InstanceType.BIGTABLE) {
+            assertEquals(Arrays.asList(20, 10),
+                    g.V(id(0)).outE("b").order().by("key1", Order.decr).limit(2).values("key1").toList());
+        }
+    }
+
+    /**
+     * Write the index entries of the given elements, but not the elements, as a writer that
+     * failed part way would leave them.  The entries are written with the timestamp of the
+     * elements, as stale entries are removed by the timestamp they were written with.
+     */
+    private void writeStaleIndexEntries(HBaseElement... elements) {
+        for (HBaseElement element : elements) {
+            Iterator<IndexMetadata> indices = element.getIndices(OperationType.WRITE);
+            if (element instanceof HBaseVertex) {
+                Mutators.create(graph.getVertexIndexModel().getTable(),
+                        new VertexIndexWriter(graph, (Vertex) element, indices, element.createdAt()));
+            } else {
+                Mutators.create(graph.getEdgeIndexModel().getTable(),
+                        new EdgeIndexWriter(graph, (Edge) element, indices, element.createdAt()));
+            }
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package io.hgraphdb.benchmark;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.hgraphdb.ElementCache;
+import io.hgraphdb.HBaseVertex;
+import io.hgraphdb.ValueUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up vertices in the element cache by id with looking them up by
+ * serialized id, as the cache did before.  Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath io.hgraphdb.benchmark.ElementCacheBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementCacheBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private Object[] ids;
+    private Cache<ByteBuffer, HBaseVertex> serializedCache;
+    private ElementCache<HBaseVertex> elementCache;
+    private int next;
+
+    @Setup
+    public void setup() {
+        ids = new Object[size];
+        serializedCache = CacheBuilder.newBuilder().maximumSize(size).build();
+        elementCache = new ElementCache<>(size, 0, 3600, 1);
+        for (int i = 0; i < size; i++) {
+            Long id = (long) i * 7919;
+            ids[i] = id;
+            HBaseVertex vertex = new HBaseVertex(null, id);
+            serializedCache.put(ByteBuffer.wrap(ValueUtils.serialize(id)), vertex);
+            elementCache.put(ElementCache.key(id), vertex);
+        }
+    }
+
+    private Object nextId() {
+        next = (next + 1) % size;
+        return ids[next];
+    }
+
+    @Benchmark
+    public HBaseVertex serializedKey() {
+        return serializedCache.getIfPresent(ByteBuffer.wrap(ValueUtils.serialize(nextId())));
+    }
+
+    @Benchmark
+    public HBaseVertex idKey() {
+        return elementCache.getIfPresent(ElementCache.key(nextId()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ElementCacheBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}